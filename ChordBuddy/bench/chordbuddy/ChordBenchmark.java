@@ -0,0 +1,85 @@
+package chordbuddy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and spelling of chord symbols, cycling through a symbol mix so a
+ * single symbol never gets to dominate the branch profile.
+ *
+ * @author Ryan
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChordBenchmark {
+
+  @Param({"triads", "sevenths", "altered", "invalid", "whitespace"})
+  public String mix;
+
+  private String[] symbols;
+  private Chord[] chords;
+  private int[] buffer;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    this.symbols = SymbolMix.get(this.mix);
+    this.chords = new Chord[this.symbols.length];
+    for (int i = 0; i < this.symbols.length; i++) {
+      this.chords[i] = Chord.create(this.symbols[i]);
+    }
+
+    this.buffer = new int[Chord.MAX_NOTES];
+    this.next = 0;
+  }
+
+  private int nextIndex() {
+    int i = this.next;
+    this.next = (i + 1) % this.symbols.length;
+
+    return i;
+  }
+
+  @Benchmark
+  public Chord create() {
+    return Chord.create(this.symbols[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean isValidSymbol() {
+    return Chord.isValidSymbol(this.symbols[this.nextIndex()]);
+  }
+
+  @Benchmark
+  public List<Note> getNotes() {
+    Chord chord = this.chords[this.nextIndex()];
+    return chord != null ? chord.getNotes() : null;
+  }
+
+  @Benchmark
+  public int spellInto() {
+    Chord chord = this.chords[this.nextIndex()];
+    return chord != null ? chord.spellInto(this.buffer) : 0;
+  }
+
+  @Benchmark
+  public List<Note> createAndGetNotes() {
+    Chord chord = Chord.create(this.symbols[this.nextIndex()]);
+    return chord != null ? chord.getNotes() : null;
+  }
+}
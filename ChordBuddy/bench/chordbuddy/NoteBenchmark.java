@@ -0,0 +1,74 @@
+package chordbuddy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Note parsing, major scale lookup and whitespace removal.
+ *
+ * @author Ryan
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteBenchmark {
+
+  private String[] symbols;
+  private Note[] notes;
+  private SpelledNote[] spelledNotes;
+  private String[] padded;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    this.symbols = SymbolMix.notes;
+    this.notes = new Note[this.symbols.length];
+    this.spelledNotes = new SpelledNote[this.symbols.length];
+    for (int i = 0; i < this.symbols.length; i++) {
+      this.notes[i] = Note.create(this.symbols[i]);
+      this.spelledNotes[i] = this.notes[i].toSpelledNote();
+    }
+
+    this.padded = SymbolMix.whitespace;
+    this.next = 0;
+  }
+
+  private int nextIndex(int length) {
+    this.next = (this.next + 1) & Integer.MAX_VALUE;
+
+    return this.next % length;
+  }
+
+  @Benchmark
+  public Note noteCreate() {
+    return Note.create(this.symbols[this.nextIndex(this.symbols.length)]);
+  }
+
+  @Benchmark
+  public List<Note> getMajorScale() {
+    return MusicTheory.getMajorScale(this.notes[this.nextIndex(this.notes.length)]);
+  }
+
+  @Benchmark
+  public List<SpelledNote> spellMajorScale() {
+    return MusicTheory.spellMajorScale(this.spelledNotes[this.nextIndex(this.spelledNotes.length)]);
+  }
+
+  @Benchmark
+  public String removeWhitespace() {
+    return Utilities.removeWhitespace(this.padded[this.nextIndex(this.padded.length)]);
+  }
+}
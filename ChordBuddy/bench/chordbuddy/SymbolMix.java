@@ -0,0 +1,55 @@
+package chordbuddy;
+
+/**
+ * Realistic chord symbol mixes shared by the benchmarks.
+ *
+ * @author Ryan
+ */
+public class SymbolMix {
+
+  public static final String[] triads = {
+    "C", "G", "A-", "F", "D-", "Emin", "Bb", "Eb", "Ab", "F#dim", "C+", "Gsus4",
+    "Dsus2", "B dim", "E aug", "Cmaj", "a", "e", "Dbmin", "Gb"
+  };
+
+  public static final String[] sevenths = {
+    "G7", "Cmaj7", "A-7", "D-7", "F#-7b5", "Bb7", "Ebmaj7", "Adim7", "E7",
+    "Bbmin7", "Gdom7", "C-7", "F7", "Dbmaj7", "Ab7", "B-7b5"
+  };
+
+  public static final String[] altered = {
+    "C13#11b9", "G7b9#11b13", "Ab-11b5", "F#+7#9", "Dbmaj13#11", "E7#9#5",
+    "Bb13b9", "A dominant 7 b9 #11", "Ebb Major7 #11", "Amaj6##9bb13",
+    "D9#11", "Gb-9"
+  };
+
+  public static final String[] invalid = {
+    "H7", "Cmi7", "badchord", "Bmaj7sharp11", "Emin0", "C3", "AB", "G monir",
+    "Dbbdimb10", "F#minormajor", "", "  "
+  };
+
+  public static final String[] whitespace = {
+    "C major", "G # m i n", "A-7 b5", " F + 7 #11 b13 ", "E b b Major7 #11",
+    "\tB\tdim\t", "D\r\n-7", "Ab 13 #11"
+  };
+
+  public static final String[] notes = {
+    "C", "G", "Bb", "F#", "Eb", "C#", "Ab", "Dbb", "E##", "b", "f #", "G b"
+  };
+
+  public static String[] get(String mix) {
+    if ("triads".equals(mix)) {
+      return triads;
+    } else if ("sevenths".equals(mix)) {
+      return sevenths;
+    } else if ("altered".equals(mix)) {
+      return altered;
+    } else if ("invalid".equals(mix)) {
+      return invalid;
+    } else if ("whitespace".equals(mix)) {
+      return whitespace;
+    }
+
+    throw new IllegalArgumentException("Unknown symbol mix: " + mix);
+  }
+}
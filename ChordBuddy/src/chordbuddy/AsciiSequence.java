@@ -0,0 +1,86 @@
+package chordbuddy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Read-only CharSequence view of a range of single-byte characters in a
+ * ByteBuffer, decoded as ISO-8859-1. Every ASCII character maps to itself,
+ * so parsers can read ASCII text straight out of the buffer without decoding
+ * it into Strings first.
+ *
+ * Valid symbols may also contain non-ASCII characters such as "\u00f8"
+ * (half-diminished), which UTF-8 encodes as several bytes. Callers must check
+ * a range with isAscii and decode it with decode when it is not.
+ *
+ * @author Ryan
+ */
+class AsciiSequence implements CharSequence {
+
+  private static final Charset utf8 = Charset.forName("UTF-8");
+
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int length;
+
+  AsciiSequence(ByteBuffer buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Returns whether every byte in [start, end) is ASCII, so that the view
+   * reads those characters correctly.
+   */
+  boolean isAscii(int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (this.buffer.get(this.offset + i) < 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the bytes in [start, end) decoded as UTF-8.
+   */
+  String decode(int start, int end) {
+    ByteBuffer range = this.buffer.duplicate();
+    range.limit(this.offset + end);
+    range.position(this.offset + start);
+
+    return utf8.decode(range).toString();
+  }
+
+  public int length() {
+    return this.length;
+  }
+
+  public char charAt(int index) {
+    if (index < 0 || index >= this.length) {
+      throw new IndexOutOfBoundsException("Index out of range: " + index);
+    }
+
+    return (char) (this.buffer.get(this.offset + index) & 0xff);
+  }
+
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > this.length || start > end) {
+      throw new IndexOutOfBoundsException(String.format("Range out of bounds: [%d, %d)", start, end));
+    }
+
+    return new AsciiSequence(this.buffer, this.offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    char[] chars = new char[this.length];
+    for (int i = 0; i < this.length; i++) {
+      chars[i] = (char) (this.buffer.get(this.offset + i) & 0xff);
+    }
+
+    return new String(chars);
+  }
+}
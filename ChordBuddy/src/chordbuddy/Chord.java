@@ -1,235 +1,306 @@
 package chordbuddy;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
+ * Immutable, and so safe to share between threads once created.
  *
  * @author Ryan
  */
 public class Chord {
 
-  private Note tonic;
-  private MusicTheory.ChordQuality chordQuality;
-  private List<Modifier> modifiers;
+  /**
+   * The highest scale degree a chord tone can occupy.
+   */
+  public static final int MAX_DEGREE = 13;
+
+  /**
+   * The most tones spellInto can ever write: one per degree, plus a bass note
+   * that is not a chord tone.
+   */
+  public static final int MAX_NOTES = MAX_DEGREE + 1;
+
+  private final SpelledNote tonic;
+  private final MusicTheory.ChordQuality chordQuality;
+  private final List<Modifier> modifiers;
+  private final SpelledNote bass;
+  private final ChordFormula formula;
+
+  Chord(SpelledNote tonic, MusicTheory.ChordQuality quality, List<Modifier> modifiers) {
+    this(tonic, quality, modifiers, null);
+  }
 
-  private Chord(Note tonic, MusicTheory.ChordQuality quality, List<Modifier> modifiers) {
+  /**
+   * The chord takes ownership of modifiers, which must not be changed
+   * afterwards. bass is null unless the chord is a slash chord.
+   */
+  Chord(SpelledNote tonic, MusicTheory.ChordQuality quality, List<Modifier> modifiers, SpelledNote bass) {
     this.tonic = tonic;
     this.chordQuality = quality;
-    this.modifiers = modifiers;
+    this.modifiers = Collections.unmodifiableList(modifiers);
+    this.bass = bass;
+    this.formula = ChordFormula.create(quality, modifiers);
+  }
+
+  private Chord(Chord chord, SpelledNote tonic, SpelledNote bass) {
+    this.tonic = tonic;
+    this.chordQuality = chord.chordQuality;
+    this.modifiers = chord.modifiers;
+    this.bass = bass;
+    this.formula = chord.formula;
   }
 
   public static Chord create(String symbol) {
-    if (!Chord.isValidSymbol(symbol)) {
+    if (symbol == null) {
       return null;
     }
 
-    return new Chord(
-            Chord.getSymbolTonic(symbol),
-            Chord.getSymbolQuality(symbol),
-            Chord.getSymbolModifiers(symbol));
+    return Chord.create(symbol, 0, symbol.length());
   }
 
-  public static boolean isValidSymbol(String symbol) {
+  public static Chord create(CharSequence symbol) {
     if (symbol == null) {
-      return false;
+      return null;
     }
 
-    symbol = Utilities.removeWhitespace(symbol);
-
-    Pattern validationPattern = Pattern.compile(
-            "^" +
-            MusicTheory.tonicRegex +
-            MusicTheory.accidentalRegex +
-            MusicTheory.qualityRegex +
-            MusicTheory.modifierRegex +
-            "$");
+    return Chord.create(symbol, 0, symbol.length());
+  }
 
-    Matcher m = validationPattern.matcher(symbol);
-    if (!m.matches()) {
-      return false;
+  /**
+   * Parses the symbol held in [start, end) of text, e.g. one line of a
+   * CharBuffer, without copying it. Whitespace is skipped inline.
+   */
+  public static Chord create(CharSequence text, int start, int end) {
+    if (text == null) {
+      return null;
     }
+    Utilities.checkRange(text.length(), start, end);
 
-    return true;
+    long metricsStart = Metrics.start();
+    Chord chord = ChordSymbolLexer.lex(text, start, end);
+    Metrics.stop(Metrics.Operation.ChordCreate, metricsStart, chord == null);
+
+    return chord;
   }
 
-  public static Note getSymbolTonic(String symbol) {
-    if (!Chord.isValidSymbol(symbol)) {
+  /**
+   * Parses the symbol held in length chars of buffer from offset, without
+   * copying it.
+   */
+  public static Chord create(char[] buffer, int offset, int length) {
+    if (buffer == null) {
       return null;
     }
+    Utilities.checkRange(buffer.length, offset, offset + length);
 
-    symbol = Utilities.removeWhitespace(symbol);
-
-    Character noteName = symbol.charAt(0);
-    String noteAccidentals = "";
-    Character noteBaseAccidental = null;
-
-    for (int i = 1; i < symbol.length(); i++) {
-      Character curChar = symbol.charAt(i);
-      if (curChar.equals(MusicTheory.notationFlatChar) || curChar.equals(MusicTheory.notationSharpChar)) {
-        if (noteBaseAccidental == null) {
-          noteBaseAccidental = curChar;
-          noteAccidentals += curChar;
-        } else if (curChar.equals(noteBaseAccidental)) {
-          noteAccidentals += curChar;
-        }
-      } else {
-        break;
-      }
-    }
+    return Chord.create(CharBuffer.wrap(buffer), offset, offset + length);
+  }
 
-    Note tonic = Note.create(noteName + noteAccidentals);
-    return tonic;
+  public static boolean isValidSymbol(String symbol) {
+    return new SymbolMatcher().isValidChordSymbol(symbol);
+  }
+
+  public static boolean isValidSymbol(CharSequence symbol) {
+    return Chord.create(symbol) != null;
+  }
+
+  public static Note getSymbolTonic(String symbol) {
+    long start = Metrics.start();
+    Note result = new SymbolMatcher().getChordSymbolTonic(symbol);
+    Metrics.stop(Metrics.Operation.ChordSymbolTonic, start, result == null);
+
+    return result;
   }
 
   public static MusicTheory.ChordQuality getSymbolQuality(String symbol) {
-    if (!Chord.isValidSymbol(symbol)) {
-      return null;
-    }
+    long start = Metrics.start();
+    MusicTheory.ChordQuality result = new SymbolMatcher().getChordSymbolQuality(symbol);
+    Metrics.stop(Metrics.Operation.ChordSymbolQuality, start, result == null);
 
-    symbol = Utilities.removeWhitespace(symbol);
+    return result;
+  }
 
-    Pattern qualityPattern = Pattern.compile(
-            "^" +
-            MusicTheory.tonicRegex +
-            MusicTheory.accidentalRegex +
-            "(" +
-            MusicTheory.qualityRegex +
-            ")" +
-            MusicTheory.modifierRegex +
-            "$");
+  public static List<Modifier> getSymbolModifiers(String symbol) {
+    long start = Metrics.start();
+    List<Modifier> result = new SymbolMatcher().getChordSymbolModifiers(symbol);
+    Metrics.stop(Metrics.Operation.ChordSymbolModifiers, start, result == null);
 
-    Matcher m = qualityPattern.matcher(symbol);
-    if (!m.matches()) {
-      return null;
-    }
+    return result;
+  }
 
-    MusicTheory.ChordQuality quality = MusicTheory.notationChordQualities.get(m.group(1).toLowerCase());
+  public static Note getSymbolBass(String symbol) {
+    return new SymbolMatcher().getChordSymbolBass(symbol);
+  }
 
-    if (quality == null) {
-      Character tonicLetter = symbol.charAt(0);
+  public Note getTonic() {
+    return Note.create(this.tonic);
+  }
 
-      if (Character.isLowerCase(tonicLetter)) {
-        quality = MusicTheory.ChordQuality.Min;
-      } else if (Character.isUpperCase(tonicLetter)) {
-        quality = MusicTheory.ChordQuality.MajInferred;
-      }
+  public SpelledNote getSpelledTonic() {
+    return this.tonic;
+  }
+
+  public MusicTheory.ChordQuality getQuality() {
+    return this.chordQuality;
+  }
+
+  public List<Modifier> getModifiers() {
+    return this.modifiers;
+  }
+
+  /**
+   * Returns the bass note of a slash chord (e.g. the E of "C/E"), or null if
+   * the chord has no bass note of its own.
+   */
+  public Note getBass() {
+    return this.bass == null ? null : Note.create(this.bass);
+  }
+
+  public SpelledNote getSpelledBass() {
+    return this.bass;
+  }
+
+  public List<Note> getNotes() {
+    long start = Metrics.start();
+    int[] codes = new int[MAX_NOTES];
+    int count = this.spellInto(codes);
+
+    List<Note> notes = new ArrayList<Note>(count);
+    for (int i = 0; i < count; i++) {
+      notes.add(Note.create(SpelledNote.fromCode(codes[i])));
     }
 
-    return quality;
+    Metrics.stop(Metrics.Operation.ChordNotes, start, false);
+    return notes;
   }
 
-  public static List<Modifier> getSymbolModifiers(String symbol) {
-    if (!Chord.isValidSymbol(symbol)) {
-      return null;
+  /**
+   * Returns the chord tones as immutable values, in spellInto order. Unlike
+   * getNotes, the result can be shared between threads.
+   */
+  public List<SpelledNote> getSpelledNotes() {
+    int[] codes = new int[MAX_NOTES];
+    int count = this.spellInto(codes);
+
+    SpelledNote[] notes = new SpelledNote[count];
+    for (int i = 0; i < count; i++) {
+      notes[i] = SpelledNote.fromCode(codes[i]);
     }
 
-    symbol = Utilities.removeWhitespace(symbol);
+    return Collections.unmodifiableList(Arrays.asList(notes));
+  }
 
-    Pattern modifiersPattern = Pattern.compile(
-            "^" +
-            MusicTheory.tonicRegex +
-            MusicTheory.accidentalRegex +
-            "(" +
-            MusicTheory.qualityRegex +
-            ")(" +
-            MusicTheory.modifierRegex +
-            ")$");
+  /**
+   * Returns this chord moved by the given interval. Quality and modifiers are
+   * relative to the tonic, so only the tonic and bass change and the rest of
+   * the parsed structure is shared with this chord.
+   */
+  public Chord transpose(Interval interval) {
+    return this.withTonic(this.tonic.transpose(interval), this.bass == null ? null : this.bass.transpose(interval));
+  }
 
-    Matcher m = modifiersPattern.matcher(symbol);
-    if (!m.matches()) {
-      return null;
+  Chord withTonic(SpelledNote tonic, SpelledNote bass) {
+    if (tonic.equals(this.tonic) && (bass == null ? this.bass == null : bass.equals(this.bass))) {
+      return this;
     }
 
-    List<Modifier> modifiers = new ArrayList<Modifier>();
+    return new Chord(this, tonic, bass);
+  }
+
+  public PitchClassSet getPitchClassSet() {
+    int[] codes = new int[MAX_NOTES];
+    int count = this.spellInto(codes);
 
-    String qualityString = m.group(1);
-    String modifierString = m.group(2);
+    return PitchClassSet.fromBits(PitchClassSet.bitsOf(codes, count));
+  }
 
-    Pattern p = Pattern.compile("(" + MusicTheory.accidentalRegex + ")(\\d+)");
-    m = p.matcher(modifierString);
-    while (m.find()) {
-      String accidentalString = m.group(1);
-      String indexString = m.group(2);
+  /**
+   * Returns the chord's tones as a spelled note set, or null if a tone has
+   * more than four accidentals.
+   */
+  public SpelledNoteSet getSpelledNoteSet() {
+    int[] codes = new int[MAX_NOTES];
+    int count = this.spellInto(codes);
 
-      int index = Integer.parseInt(indexString);
-      int quality = accidentalString.length();
+    long bits = SpelledNoteSet.bitsOf(codes, count);
+    return bits == 0 ? null : SpelledNoteSet.fromBits(bits);
+  }
 
-      if (accidentalString.indexOf(MusicTheory.notationFlatChar) >= 0) {
-        quality *= -1;
-      }
+  /**
+   * Returns the chord's canonical symbol, see ChordFormatter.
+   */
+  public String getSymbol() {
+    return ChordFormatter.format(this);
+  }
 
-      if (modifiers.size() == 0 && qualityString.length() == 0) {
-        if (index == 7) {
-          quality = 0;
-        }
-      }
+  @Override
+  public String toString() {
+    return this.getSymbol();
+  }
 
-      modifiers.add(new Modifier(index, quality));
+  /**
+   * Writes the packed SpelledNote code of each chord tone into out, ordered
+   * by scale degree, and returns the number of tones written. out must have
+   * room for MAX_NOTES codes.
+   *
+   * A slash chord is ordered from its bass: when the bass is a chord tone the
+   * tones are rotated to start from it (e.g. "C/E" => E G C), and otherwise
+   * it is written ahead of them (e.g. "C/D" => D C E G).
+   *
+   * The tones are worked out from the quality and modifiers once, when the
+   * chord is created, so this is a single pass over the tonic's major scale.
+   * Nothing is allocated unless the tonic lies outside the precomputed major
+   * scale table.
+   */
+  public int spellInto(int[] out) {
+    int[] scale = MusicTheory.getMajorScaleCodes(this.tonic.getCode());
+    int count = this.formula.spellInto(scale, out);
+
+    if (this.bass != null) {
+      count = Chord.placeBass(out, count, this.bass.getCode());
     }
 
-    return modifiers;
+    return count;
   }
 
-  public List<Note> getNotes() {
-    SortedMap<Integer, Note> chordTones = new TreeMap<Integer, Note>();
-    List<Note> scale = MusicTheory.getMajorScale(this.tonic);
-
-    Note root = Note.copy(scale.get(0));
-    Note third = Note.copy(scale.get(2));
-    Note fifth = Note.copy(scale.get(4));
-
-    if (this.chordQuality == MusicTheory.ChordQuality.Min) {
-      third.flatify(1);
-    } else if (this.chordQuality == MusicTheory.ChordQuality.Dim) {
-      third.flatify(1);
-      fifth.flatify(1);
-    } else if (this.chordQuality == MusicTheory.ChordQuality.Aug) {
-      fifth.sharpify(1);
-    } else if (this.chordQuality == MusicTheory.ChordQuality.Dom) {
-      Note seventh = Note.copy(scale.get(6));
-      seventh.flatify(1);
-      chordTones.put(7, seventh);
-    } else if (this.chordQuality == MusicTheory.ChordQuality.Sus2) {
-      chordTones.put(2, Note.copy(scale.get(1)));
-    } else if (this.chordQuality == MusicTheory.ChordQuality.Sus4) {
-      chordTones.put(4, Note.copy(scale.get(3)));
-    }
+  /**
+   * Writes the packed SpelledNote code of each tension, each tone above the
+   * seventh, into out and returns their number.
+   */
+  int spellTensionsInto(int[] out) {
+    int[] scale = MusicTheory.getMajorScaleCodes(this.tonic.getCode());
+    return this.formula.spellTensionsInto(scale, out);
+  }
 
-    chordTones.put(1, root);
-    if (this.chordQuality != MusicTheory.ChordQuality.Sus2 && this.chordQuality != MusicTheory.ChordQuality.Sus4) {
-      chordTones.put(3, third);
+  private static int placeBass(int[] out, int count, int bass) {
+    int index = 0;
+    while (index < count && out[index] != bass) {
+      index++;
     }
-    chordTones.put(5, fifth);
-
-    for (Modifier modifier : this.modifiers) {
-      Note target = Note.copy(scale.get((modifier.TargetIndex - 1) % scale.size()));
-
-      if (modifier.Quality == 0) {
-        if (modifier.TargetIndex == 7) {
-          if (this.chordQuality == MusicTheory.ChordQuality.MajInferred) {
-            target.flatify(1);
-          } else if (this.chordQuality == MusicTheory.ChordQuality.Min) {
-            target.flatify(1);
-          } else if (this.chordQuality == MusicTheory.ChordQuality.Dim) {
-            target.flatify(2);
-          } else if (this.chordQuality == MusicTheory.ChordQuality.Dom) {
-            continue;
-          }
-        }
-      } else if (modifier.TargetIndex == 5) {
-        fifth = chordTones.get(5);
-        fifth.setQuality(fifth.getQuality() + modifier.Quality);
-      }
-
-      target.setQuality(target.getQuality() + modifier.Quality);
-      chordTones.put(modifier.TargetIndex, target);
+
+    if (index == count) {
+      System.arraycopy(out, 0, out, 1, count);
+      out[0] = bass;
+      return count + 1;
     }
 
-    return new ArrayList<Note>(chordTones.values());
+    // Note: Rotate the tones in place by three reversals
+    Chord.reverse(out, 0, index);
+    Chord.reverse(out, index, count);
+    Chord.reverse(out, 0, count);
+
+    return count;
+  }
+
+  private static void reverse(int[] a, int from, int to) {
+    for (int i = from, j = to - 1; i < j; i++, j--) {
+      int t = a[i];
+      a[i] = a[j];
+      a[j] = t;
+    }
   }
 }
@@ -0,0 +1,165 @@
+package chordbuddy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Non-interactive chord spelling: reads one symbol per line and writes one
+ * machine-readable result per line. Blank lines are skipped and invalid
+ * symbols are reported on their own line without stopping the batch.
+ *
+ * Output formats:
+ *   tsv   => line, "ok", symbol, space separated notes
+ *            line, "error", symbol, message
+ *   jsonl => {"line":1,"symbol":"G7","notes":["G","B","D","F"]}
+ *            {"line":2,"symbol":"H7","error":"..."}
+ *
+ * @author Ryan
+ */
+public class ChordBatch {
+
+  public static enum Format {
+
+    Tsv,
+    Jsonl,
+  }
+
+  private final Format format;
+  private final int[] codes;
+  private final StringBuilder line;
+  private long processedCount;
+  private long errorCount;
+
+  public ChordBatch(Format format) {
+    this.format = format;
+    this.codes = new int[Chord.MAX_NOTES];
+    this.line = new StringBuilder(128);
+  }
+
+  public static Format parseFormat(String name) {
+    for (Format f : Format.values()) {
+      if (f.name().equalsIgnoreCase(name)) {
+        return f;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Processes every line of in, writing results to out. Neither stream is
+   * closed; out is flushed once all input has been read.
+   */
+  public void run(BufferedReader in, Writer out) throws IOException {
+    String symbol;
+    long lineNumber = 0;
+
+    while ((symbol = in.readLine()) != null) {
+      lineNumber++;
+
+      if (Utilities.isBlank(symbol)) {
+        continue;
+      }
+
+      this.line.setLength(0);
+      this.process(lineNumber, symbol);
+      this.line.append('\n');
+      out.append(this.line);
+    }
+
+    out.flush();
+  }
+
+  public long getProcessedCount() {
+    return this.processedCount;
+  }
+
+  public long getErrorCount() {
+    return this.errorCount;
+  }
+
+  private void process(long lineNumber, String symbol) {
+    this.processedCount++;
+
+    Chord chord = Chord.create(symbol);
+    if (chord == null) {
+      this.errorCount++;
+      this.appendError(lineNumber, symbol, "Invalid chord symbol");
+      return;
+    }
+
+    int count = chord.spellInto(this.codes);
+
+    if (this.format == Format.Jsonl) {
+      this.line.append("{\"line\":").append(lineNumber).append(",\"symbol\":");
+      ChordBatch.appendJsonString(this.line, symbol);
+      this.line.append(",\"notes\":[");
+      for (int i = 0; i < count; i++) {
+        if (i > 0) {
+          this.line.append(',');
+        }
+        this.line.append('"');
+        ChordFormatter.appendNote(this.line, this.codes[i]);
+        this.line.append('"');
+      }
+      this.line.append("]}");
+    } else {
+      this.line.append(lineNumber).append("\tok\t");
+      ChordBatch.appendTsvField(this.line, symbol);
+      this.line.append('\t');
+      ChordFormatter.appendNotes(this.line, this.codes, count, ' ');
+    }
+  }
+
+  private void appendError(long lineNumber, String symbol, String message) {
+    if (this.format == Format.Jsonl) {
+      this.line.append("{\"line\":").append(lineNumber).append(",\"symbol\":");
+      ChordBatch.appendJsonString(this.line, symbol);
+      this.line.append(",\"error\":");
+      ChordBatch.appendJsonString(this.line, message);
+      this.line.append('}');
+    } else {
+      this.line.append(lineNumber).append("\terror\t");
+      ChordBatch.appendTsvField(this.line, symbol);
+      this.line.append('\t');
+      ChordBatch.appendTsvField(this.line, message);
+    }
+  }
+
+  private static void appendTsvField(StringBuilder sb, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\t') {
+        sb.append("\\t");
+      } else if (c == '\r') {
+        sb.append("\\r");
+      } else if (c == '\\') {
+        sb.append("\\\\");
+      } else {
+        sb.append(c);
+      }
+    }
+  }
+
+  static void appendJsonString(StringBuilder sb, String value) {
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c == '\t') {
+        sb.append("\\t");
+      } else if (c == '\r') {
+        sb.append("\\r");
+      } else if (c == '\n') {
+        sb.append("\\n");
+      } else if (c < 0x20) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    sb.append('"');
+  }
+}
@@ -0,0 +1,195 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, thread-safe memo of parsed chords and their spelled notes, keyed
+ * by the whitespace-normalized chord symbol.
+ *
+ * Entries are spread over a power-of-two number of independently locked
+ * segments, each evicting its least recently used entry once full, so threads
+ * looking up different symbols rarely contend. Invalid symbols are remembered
+ * as well, so repeated garbage input is not reparsed either.
+ *
+ * @author Ryan
+ */
+public class ChordCache {
+
+  public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+  private final int maximumSize;
+  private final Segment[] segments;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+  private final AtomicLong evictionCount;
+
+  public ChordCache(int maximumSize) {
+    this(maximumSize, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  public ChordCache(int maximumSize, int concurrencyLevel) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("The maximum cache size must be positive: " + maximumSize);
+    }
+    if (concurrencyLevel < 1) {
+      throw new IllegalArgumentException("The concurrency level must be positive: " + concurrencyLevel);
+    }
+
+    // Note: Never use more segments than entries, or some segments would
+    //       have no room at all
+    int segmentCount = 1;
+    while (segmentCount < concurrencyLevel && segmentCount * 2 <= maximumSize) {
+      segmentCount *= 2;
+    }
+
+    this.maximumSize = maximumSize;
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+      this.segments[i] = new Segment(capacity);
+    }
+
+    this.hitCount = new AtomicLong();
+    this.missCount = new AtomicLong();
+    this.evictionCount = new AtomicLong();
+  }
+
+  /**
+   * Returns the parsed chord for a symbol, or null if the symbol is invalid.
+   */
+  public Chord getChord(String symbol) {
+    Entry entry = this.getEntry(symbol);
+    return entry != null ? entry.chord : null;
+  }
+
+  /**
+   * Returns the spelled notes for a symbol, or null if the symbol is invalid.
+   * The returned list and its notes belong to the caller.
+   */
+  public List<Note> getNotes(String symbol) {
+    Entry entry = this.getEntry(symbol);
+    if (entry == null || entry.chord == null) {
+      return null;
+    }
+
+    List<Note> notes = entry.notes;
+    if (notes == null) {
+      notes = entry.chord.getNotes();
+      entry.notes = notes;
+    }
+
+    List<Note> copy = new ArrayList<Note>(notes.size());
+    for (Note note : notes) {
+      copy.add(Note.copy(note));
+    }
+
+    return copy;
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment segment : this.segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+
+    return size;
+  }
+
+  public void clear() {
+    for (Segment segment : this.segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  public int getMaximumSize() {
+    return this.maximumSize;
+  }
+
+  public long getHitCount() {
+    return this.hitCount.get();
+  }
+
+  public long getMissCount() {
+    return this.missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return this.evictionCount.get();
+  }
+
+  private Entry getEntry(String symbol) {
+    if (symbol == null) {
+      return null;
+    }
+
+    String key = Utilities.removeWhitespace(symbol);
+    Segment segment = this.segmentFor(key);
+
+    Entry entry;
+    synchronized (segment) {
+      entry = segment.get(key);
+    }
+
+    if (entry != null) {
+      this.hitCount.incrementAndGet();
+      return entry;
+    }
+
+    this.missCount.incrementAndGet();
+
+    // Note: Parsing happens outside the segment lock; if two threads race on
+    //       the same symbol, both results are equal and the last one wins
+    entry = new Entry(Chord.create(key));
+    synchronized (segment) {
+      segment.put(key, entry);
+    }
+
+    return entry;
+  }
+
+  private Segment segmentFor(String key) {
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+
+    return this.segments[h & (this.segments.length - 1)];
+  }
+
+  private static class Entry {
+
+    final Chord chord;
+    volatile List<Note> notes;
+
+    Entry(Chord chord) {
+      this.chord = chord;
+    }
+  }
+
+  private class Segment extends LinkedHashMap<String, Entry> {
+
+    private static final long serialVersionUID = 1L;
+    private final int capacity;
+
+    Segment(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+      if (this.size() > this.capacity) {
+        ChordCache.this.evictionCount.incrementAndGet();
+        return true;
+      }
+
+      return false;
+    }
+  }
+}
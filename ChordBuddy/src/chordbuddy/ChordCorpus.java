@@ -0,0 +1,211 @@
+package chordbuddy;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Analyses very large files of newline-separated chord symbols.
+ *
+ * The file is memory-mapped in line-aligned chunks, and each chunk is parsed
+ * straight out of its mapped bytes: symbols are lexed through an ASCII
+ * CharSequence view, so no String is created per line. The file is read as
+ * UTF-8, and only the rare lines holding non-ASCII characters (such as
+ * "\u00f8") are decoded into Strings. Chunks are analysed
+ * on the given executor and their summaries merged, which keeps throughput
+ * bound by the disk rather than by decoding.
+ *
+ * @author Ryan
+ */
+public class ChordCorpus {
+
+  public static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+  private final ExecutorService executor;
+  private final int chunkSize;
+
+  /**
+   * Creates a corpus reader that works sequentially on the calling thread.
+   */
+  public ChordCorpus() {
+    this(null, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param executor  the executor to analyse chunks on, or null to analyse
+   *                  them on the calling thread
+   * @param chunkSize the approximate number of bytes mapped per chunk; chunks
+   *                  are extended to the end of their last line
+   */
+  public ChordCorpus(ExecutorService executor, int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+    }
+
+    this.executor = executor;
+    this.chunkSize = chunkSize;
+  }
+
+  public CorpusSummary analyze(File file) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+
+    try {
+      final FileChannel channel = in.getChannel();
+      List<long[]> chunks = this.split(channel);
+
+      CorpusSummary summary = new CorpusSummary();
+
+      if (this.executor == null) {
+        for (long[] chunk : chunks) {
+          summary.merge(ChordCorpus.analyzeChunk(channel, chunk[0], chunk[1]));
+        }
+
+        return summary;
+      }
+
+      List<Future<CorpusSummary>> futures = new ArrayList<Future<CorpusSummary>>(chunks.size());
+      for (final long[] chunk : chunks) {
+        futures.add(this.executor.submit(new Callable<CorpusSummary>() {
+
+          public CorpusSummary call() throws IOException {
+            return ChordCorpus.analyzeChunk(channel, chunk[0], chunk[1]);
+          }
+        }));
+      }
+
+      try {
+        for (Future<CorpusSummary> future : futures) {
+          summary.merge(future.get());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while analysing " + file);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+
+        throw new RuntimeException(e.getCause());
+      } finally {
+        for (Future<CorpusSummary> future : futures) {
+          future.cancel(true);
+        }
+      }
+
+      return summary;
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Analyses the lines in [start, end) of text. A final line without a
+   * trailing newline is included.
+   */
+  public static void analyze(CharSequence text, int start, int end, CorpusSummary summary) {
+    int lineStart = start;
+
+    for (int i = start; i <= end; i++) {
+      if (i < end && text.charAt(i) != '\n') {
+        continue;
+      }
+
+      if (i > lineStart || i < end) {
+        ChordCorpus.analyzeLine(text, lineStart, i, summary);
+      }
+
+      lineStart = i + 1;
+    }
+  }
+
+  private static void analyzeLine(CharSequence text, int start, int end, CorpusSummary summary) {
+    boolean blank = true;
+    for (int i = start; i < end && blank; i++) {
+      blank = Utilities.isWhitespace(text.charAt(i));
+    }
+
+    if (blank) {
+      summary.addBlankLine();
+      return;
+    }
+
+    Chord chord;
+    if (text instanceof AsciiSequence && !((AsciiSequence) text).isAscii(start, end)) {
+      String line = ((AsciiSequence) text).decode(start, end);
+      chord = ChordSymbolLexer.lex(line, 0, line.length());
+    } else {
+      chord = ChordSymbolLexer.lex(text, start, end);
+    }
+
+    if (chord == null) {
+      summary.addInvalid();
+    } else {
+      summary.addChord(chord);
+    }
+  }
+
+  private static CorpusSummary analyzeChunk(FileChannel channel, long position, long size) throws IOException {
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+    CorpusSummary summary = new CorpusSummary();
+    ChordCorpus.analyze(new AsciiSequence(buffer, 0, (int) size), 0, (int) size, summary);
+
+    return summary;
+  }
+
+  /**
+   * Splits the channel into {position, size} ranges of roughly chunkSize
+   * bytes, each extended to end just after a newline (or at end of file).
+   */
+  private List<long[]> split(FileChannel channel) throws IOException {
+    List<long[]> chunks = new ArrayList<long[]>();
+    long fileSize = channel.size();
+    ByteBuffer probe = ByteBuffer.allocate(4096);
+
+    long start = 0;
+    while (start < fileSize) {
+      long end = Math.min(start + this.chunkSize, fileSize);
+
+      while (end < fileSize) {
+        probe.clear();
+        int read = channel.read(probe, end);
+        if (read <= 0) {
+          end = fileSize;
+          break;
+        }
+
+        int newline = -1;
+        for (int i = 0; i < read && newline < 0; i++) {
+          if (probe.get(i) == '\n') {
+            newline = i;
+          }
+        }
+
+        if (newline >= 0) {
+          end += newline + 1;
+          break;
+        }
+
+        end += read;
+      }
+
+      if (end - start > Integer.MAX_VALUE) {
+        throw new IOException(String.format("A line starting before byte %d is too long to map", end));
+      }
+
+      chunks.add(new long[]{start, end - start});
+      start = end;
+    }
+
+    return chunks;
+  }
+}
@@ -0,0 +1,180 @@
+package chordbuddy;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped dictionary of pre-spelled chord symbols, written
+ * by ChordDictionaryGenerator.
+ *
+ * A lookup hashes the symbol twice (once to find its bucket, once more with
+ * the bucket's displacement to find its slot), then compares the stored
+ * symbol, so it touches a couple of pages of the mapped file and never
+ * parses anything. Symbols are matched exactly as generated, e.g. "Ebmaj7"
+ * but not "EbMAJ7" or "Eb maj7"; callers fall back to Chord.create on a
+ * miss.
+ *
+ * File layout (big-endian):
+ *   header       => magic, version, entry count, bucket count, note slots
+ *   displacement => one int per bucket
+ *   entries      => per slot: symbol offset (int), symbol length (short),
+ *                   note count (byte), note codes (one byte per note slot)
+ *   symbols      => ASCII bytes of every symbol
+ *
+ * Lookups only use absolute reads of the mapped buffer, so one dictionary
+ * can be shared between threads. The mapping is released when the
+ * dictionary is garbage collected.
+ *
+ * @author Ryan
+ */
+public class ChordDictionary {
+
+  static final int MAGIC = 0x43484442;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 5 * 4;
+  static final int ENTRY_HEADER_SIZE = 4 + 2 + 1;
+
+  private final ByteBuffer buffer;
+  private final int entryCount;
+  private final int bucketCount;
+  private final int noteSlots;
+  private final int entrySize;
+  private final int entriesOffset;
+  private final int symbolsOffset;
+
+  ChordDictionary(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a chord dictionary");
+    } else if (buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported chord dictionary version: " + buffer.getInt(4));
+    }
+
+    this.buffer = buffer;
+    this.entryCount = buffer.getInt(8);
+    this.bucketCount = buffer.getInt(12);
+    this.noteSlots = buffer.getInt(16);
+    this.entrySize = ENTRY_HEADER_SIZE + this.noteSlots;
+    this.entriesOffset = HEADER_SIZE + this.bucketCount * 4;
+    this.symbolsOffset = this.entriesOffset + this.entryCount * this.entrySize;
+
+    if (this.entryCount < 1 || this.bucketCount < 1 || this.symbolsOffset > buffer.capacity()) {
+      throw new IOException("Truncated chord dictionary");
+    }
+  }
+
+  public static ChordDictionary open(File file) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+
+    try {
+      FileChannel channel = in.getChannel();
+      return new ChordDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw new IOException(file + ": " + e.getMessage());
+    } finally {
+      in.close();
+    }
+  }
+
+  public int size() {
+    return this.entryCount;
+  }
+
+  public boolean contains(CharSequence symbol) {
+    return symbol != null && this.find(symbol) >= 0;
+  }
+
+  /**
+   * Writes the packed SpelledNote codes of the symbol's chord tones into out,
+   * exactly as Chord.spellInto would, and returns their number, or -1 if the
+   * symbol is not in the dictionary.
+   */
+  public int spellInto(CharSequence symbol, int[] out) {
+    int entry = this.find(symbol);
+    if (entry < 0) {
+      return -1;
+    }
+
+    int count = this.buffer.get(entry + 6);
+    for (int i = 0; i < count; i++) {
+      out[i] = this.buffer.get(entry + ENTRY_HEADER_SIZE + i);
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns the notes of the symbol's chord, or null if the symbol is not in
+   * the dictionary.
+   */
+  public List<Note> getNotes(String symbol) {
+    if (symbol == null) {
+      return null;
+    }
+
+    int[] codes = new int[this.noteSlots];
+    int count = this.spellInto(symbol, codes);
+    if (count < 0) {
+      return null;
+    }
+
+    List<Note> notes = new ArrayList<Note>(count);
+    for (int i = 0; i < count; i++) {
+      notes.add(Note.create(SpelledNote.fromCode(codes[i])));
+    }
+
+    return notes;
+  }
+
+  /**
+   * Returns the byte offset of the symbol's entry, or -1.
+   */
+  private int find(CharSequence symbol) {
+    int bucket = ChordDictionary.index(ChordDictionary.hash(symbol, 0), this.bucketCount);
+    int displacement = this.buffer.getInt(HEADER_SIZE + bucket * 4);
+    int slot = ChordDictionary.index(ChordDictionary.hash(symbol, displacement), this.entryCount);
+
+    int entry = this.entriesOffset + slot * this.entrySize;
+    int offset = this.symbolsOffset + this.buffer.getInt(entry);
+    int length = this.buffer.getShort(entry + 4);
+
+    if (length != symbol.length()) {
+      return -1;
+    }
+    for (int i = 0; i < length; i++) {
+      if (this.buffer.get(offset + i) != symbol.charAt(i)) {
+        return -1;
+      }
+    }
+
+    return entry;
+  }
+
+  /**
+   * FNV-1a over the symbol's chars, perturbed by seed and finished with the
+   * MurmurHash3 mixer so that nearby seeds give independent hashes.
+   */
+  static int hash(CharSequence symbol, int seed) {
+    int h = 0x811C9DC5 ^ (seed * 0x9E3779B9);
+    for (int i = 0; i < symbol.length(); i++) {
+      h ^= symbol.charAt(i);
+      h *= 0x01000193;
+    }
+
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+
+    return h;
+  }
+
+  static int index(int hash, int size) {
+    return (hash & 0x7FFFFFFF) % size;
+  }
+}
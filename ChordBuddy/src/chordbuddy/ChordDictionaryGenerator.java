@@ -0,0 +1,248 @@
+package chordbuddy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Build-time generator of the ChordDictionary file.
+ *
+ * Enumerates every tonic up to the given number of accidentals, every
+ * ASCII quality notation in ChordVocabulary (plus no notation at all)
+ * and every modifier string ChordIndex enumerates up to the given number of
+ * alterations. Each symbol the grammar accepts is spelled once and stored
+ * under a minimal perfect hash built with the hash-and-displace method:
+ * keys are grouped into buckets by a first hash, and each bucket, largest
+ * first, searches for a displacement that sends all of its keys to free
+ * slots under a second hash.
+ *
+ * Usage: ChordDictionaryGenerator output [tonicAccidentals [alterations]]
+ *
+ * @author Ryan
+ */
+public class ChordDictionaryGenerator {
+
+  public static final int DEFAULT_TONIC_ACCIDENTALS = 2;
+  public static final int DEFAULT_ALTERATIONS = 2;
+
+  // Note: About four keys per bucket keeps the displacement search short
+  private static final int keysPerBucket = 4;
+  private static final int maxDisplacement = 1 << 24;
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1 || args.length > 3) {
+      System.err.println("Usage: ChordDictionaryGenerator output [tonicAccidentals [alterations]]");
+      System.exit(2);
+    }
+
+    int tonicAccidentals = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TONIC_ACCIDENTALS;
+    int alterations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ALTERATIONS;
+
+    int count = ChordDictionaryGenerator.write(new File(args[0]), tonicAccidentals, alterations);
+    System.out.println(String.format("Wrote %d chord symbols to %s", count, args[0]));
+  }
+
+  /**
+   * Writes the dictionary and returns the number of symbols in it.
+   */
+  public static int write(File file, int tonicAccidentals, int alterations) throws IOException {
+    List<String> symbols = ChordDictionaryGenerator.enumerate(tonicAccidentals, alterations);
+
+    int entryCount = symbols.size();
+    int bucketCount = Math.max(1, entryCount / keysPerBucket);
+    int[] displacements = new int[bucketCount];
+    int[] slots = ChordDictionaryGenerator.place(symbols, displacements);
+
+    // Note: Lay the entries out by slot, then the symbols in the same order
+    String[] bySlot = new String[entryCount];
+    for (int i = 0; i < entryCount; i++) {
+      bySlot[slots[i]] = symbols.get(i);
+    }
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+
+    try {
+      out.writeInt(ChordDictionary.MAGIC);
+      out.writeInt(ChordDictionary.VERSION);
+      out.writeInt(entryCount);
+      out.writeInt(bucketCount);
+      out.writeInt(Chord.MAX_NOTES);
+
+      for (int displacement : displacements) {
+        out.writeInt(displacement);
+      }
+
+      int[] codes = new int[Chord.MAX_NOTES];
+      int symbolOffset = 0;
+      for (String symbol : bySlot) {
+        int count = Chord.create(symbol).spellInto(codes);
+
+        out.writeInt(symbolOffset);
+        out.writeShort(symbol.length());
+        out.writeByte(count);
+        for (int i = 0; i < Chord.MAX_NOTES; i++) {
+          out.writeByte(i < count ? codes[i] : 0);
+        }
+
+        symbolOffset += symbol.length();
+      }
+
+      for (String symbol : bySlot) {
+        out.writeBytes(symbol);
+      }
+    } finally {
+      out.close();
+    }
+
+    return entryCount;
+  }
+
+  /**
+   * Returns every valid symbol of the vocabulary whose notes all fit in a
+   * byte code, in enumeration order.
+   */
+  static List<String> enumerate(int tonicAccidentals, int alterations) {
+    if (tonicAccidentals < 0 || tonicAccidentals > SpelledNote.MAX_INTERNED_QUALITY) {
+      throw new IllegalArgumentException("The tonic accidentals must be between 0 and " + SpelledNote.MAX_INTERNED_QUALITY + ": " + tonicAccidentals);
+    }
+    if (alterations < 0) {
+      throw new IllegalArgumentException("The alterations must not be negative: " + alterations);
+    }
+
+    // Note: The dictionary stores symbols as ASCII bytes
+    List<String> notations = new ArrayList<String>();
+    for (ChordVocabulary.Entry entry : ChordVocabulary.qualityNotations) {
+      if (ChordDictionaryGenerator.isAscii(entry.Notation)) {
+        notations.add(entry.Notation);
+      }
+    }
+    Collections.sort(notations);
+    notations.add(0, "");
+
+    List<String> modifiers = ChordIndex.enumerateModifiers(alterations);
+    Set<String> symbols = new LinkedHashSet<String>();
+    int[] codes = new int[Chord.MAX_NOTES];
+
+    for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+      for (int quality = -tonicAccidentals; quality <= tonicAccidentals; quality++) {
+        String tonic = SpelledNote.valueOf(letter, quality).getFullName();
+
+        for (String notation : notations) {
+          for (String modifier : modifiers) {
+            String symbol = tonic + notation + modifier;
+            Chord chord = Chord.create(symbol);
+            if (chord != null && ChordDictionaryGenerator.fitsInBytes(codes, chord.spellInto(codes))) {
+              symbols.add(symbol);
+            }
+          }
+        }
+      }
+    }
+
+    return new ArrayList<String>(symbols);
+  }
+
+  private static boolean isAscii(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) > 0x7F) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean fitsInBytes(int[] codes, int count) {
+    for (int i = 0; i < count; i++) {
+      if (codes[i] != (byte) codes[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Fills in each bucket's displacement and returns the slot of each symbol.
+   */
+  private static int[] place(List<String> symbols, int[] displacements) {
+    int entryCount = symbols.size();
+    int bucketCount = displacements.length;
+
+    final List<List<Integer>> buckets = new ArrayList<List<Integer>>(bucketCount);
+    for (int i = 0; i < bucketCount; i++) {
+      buckets.add(new ArrayList<Integer>());
+    }
+    for (int i = 0; i < entryCount; i++) {
+      buckets.get(ChordDictionary.index(ChordDictionary.hash(symbols.get(i), 0), bucketCount)).add(i);
+    }
+
+    Integer[] order = new Integer[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+
+      public int compare(Integer a, Integer b) {
+        return buckets.get(b).size() - buckets.get(a).size();
+      }
+    });
+
+    int[] slots = new int[entryCount];
+    boolean[] taken = new boolean[entryCount];
+    int[] candidate = new int[keysPerBucket * 8];
+
+    for (Integer b : order) {
+      List<Integer> bucket = buckets.get(b);
+      if (bucket.isEmpty()) {
+        displacements[b] = 1;
+        continue;
+      }
+      if (bucket.size() > candidate.length) {
+        candidate = new int[bucket.size()];
+      }
+
+      int displacement = 1;
+      while (!ChordDictionaryGenerator.tryPlace(symbols, bucket, displacement, taken, candidate)) {
+        if (++displacement > maxDisplacement) {
+          throw new IllegalStateException("No perfect hash displacement found for bucket " + b);
+        }
+      }
+
+      displacements[b] = displacement;
+      for (int i = 0; i < bucket.size(); i++) {
+        taken[candidate[i]] = true;
+        slots[bucket.get(i)] = candidate[i];
+      }
+    }
+
+    return slots;
+  }
+
+  private static boolean tryPlace(List<String> symbols, List<Integer> bucket, int displacement, boolean[] taken, int[] candidate) {
+    for (int i = 0; i < bucket.size(); i++) {
+      int slot = ChordDictionary.index(ChordDictionary.hash(symbols.get(bucket.get(i)), displacement), taken.length);
+      if (taken[slot]) {
+        return false;
+      }
+      for (int j = 0; j < i; j++) {
+        if (candidate[j] == slot) {
+          return false;
+        }
+      }
+
+      candidate[i] = slot;
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,236 @@
+package chordbuddy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Renders chords and notes as symbols without per-note allocation.
+ *
+ * Notes are written from precomputed names, and chords in a canonical form:
+ * an upper case tonic, the shortest notation of the quality, the modifiers
+ * in order, then any bass note (e.g. "Eb-7b5", "F#maj9", "Bdim7", "C7/Bb").
+ * Parsing a rendered chord spells exactly the same notes.
+ *
+ * A few chords cannot be written without a quality notation, because the
+ * grammar lets the tonic's accidentals run into a leading altered modifier:
+ * "C" with a b9 would read back as "Cb" with a 9. Such chords are written
+ * with "maj", which spells the same notes as no quality at all whenever the
+ * chord has no plain 7.
+ *
+ * Modifiers implied by a ChordVocabulary notation are written with it (e.g.
+ * "Cmaj13#11"). An unaltered 9, 11 or 13 adds that single tone, so it is
+ * written as a suffix (e.g. "Cadd9", "C7add13") rather than as a bare
+ * extension, which charts read as implying the seventh.
+ *
+ * @author Ryan
+ */
+public final class ChordFormatter {
+
+  private static final String[] notations;
+  private static final List<ChordVocabulary.Entry>[] compounds;
+  private static final String[] addNotations;
+
+  private ChordFormatter() {
+  }
+
+  static {
+    MusicTheory.ChordQuality[] qualities = MusicTheory.ChordQuality.values();
+    notations = new String[qualities.length];
+    for (MusicTheory.ChordQuality quality : qualities) {
+      notations[quality.ordinal()] = ChordFormatter.findShortestNotation(quality);
+    }
+
+    // Note: Per quality, the notations implying modifiers, most implied first
+    compounds = ChordFormatter.createTable(qualities.length);
+    for (ChordVocabulary.Entry entry : ChordVocabulary.qualityNotations) {
+      if (!entry.CaseSensitive && !entry.Modifiers.isEmpty()) {
+        compounds[entry.Quality.ordinal()].add(entry);
+      }
+    }
+    for (List<ChordVocabulary.Entry> list : compounds) {
+      Collections.sort(list, new Comparator<ChordVocabulary.Entry>() {
+
+        public int compare(ChordVocabulary.Entry a, ChordVocabulary.Entry b) {
+          if (a.Modifiers.size() != b.Modifiers.size()) {
+            return b.Modifiers.size() - a.Modifiers.size();
+          }
+
+          return a.Notation.length() - b.Notation.length();
+        }
+      });
+    }
+
+    addNotations = new String[Chord.MAX_DEGREE + 1];
+    for (ChordVocabulary.Entry entry : ChordVocabulary.suffixNotations) {
+      if (entry.Modifiers.size() == 1 && entry.Modifiers.get(0).Quality == 0) {
+        addNotations[entry.Modifiers.get(0).TargetIndex] = entry.Notation;
+      }
+    }
+  }
+
+  /**
+   * Returns the notation written for a quality: its shortest plain notation
+   * in ChordVocabulary, or "" for MajInferred.
+   */
+  public static String getNotation(MusicTheory.ChordQuality quality) {
+    return notations[quality.ordinal()];
+  }
+
+  public static String format(Chord chord) {
+    if (chord == null) {
+      return null;
+    }
+
+    StringBuilder sb = new StringBuilder(16);
+    ChordFormatter.appendSymbol(sb, chord);
+
+    return sb.toString();
+  }
+
+  public static void appendSymbol(StringBuilder sb, Chord chord) {
+    try {
+      ChordFormatter.appendSymbol((Appendable) sb, chord);
+    } catch (IOException e) {
+      // Note: StringBuilder never throws
+    }
+  }
+
+  public static void appendSymbol(Appendable out, Chord chord) throws IOException {
+    SpelledNote tonic = chord.getSpelledTonic();
+    MusicTheory.ChordQuality quality = chord.getQuality();
+    List<Modifier> modifiers = chord.getModifiers();
+
+    String notation = notations[quality.ordinal()];
+    int first = 0;
+
+    ChordVocabulary.Entry compound = ChordFormatter.findCompound(quality, modifiers);
+    if (compound != null) {
+      notation = compound.Notation;
+      first = compound.Modifiers.size();
+    } else if (quality == MusicTheory.ChordQuality.MajInferred && !ChordFormatter.canOmitQuality(modifiers)) {
+      notation = notations[MusicTheory.ChordQuality.Maj.ordinal()];
+    }
+
+    out.append(tonic.getFullName());
+    out.append(notation);
+    for (int i = first; i < modifiers.size(); i++) {
+      Modifier modifier = modifiers.get(i);
+
+      if (modifier.Quality == 0 && (i > 0 || !ChordFormatter.canWriteExtension(modifier.TargetIndex))) {
+        ChordFormatter.appendAdd(out, modifier.TargetIndex);
+      } else {
+        out.append(SpelledNote.getAccidentals(modifier.Quality));
+        ChordFormatter.appendIndex(out, modifier.TargetIndex);
+      }
+    }
+
+    SpelledNote bass = chord.getSpelledBass();
+    if (bass != null) {
+      out.append(MusicTheory.notationSlashChar);
+      out.append(bass.getFullName());
+    }
+  }
+
+  public static void appendNote(StringBuilder sb, int code) {
+    sb.append(SpelledNote.fromCode(code).getFullName());
+  }
+
+  public static void appendNote(Appendable out, int code) throws IOException {
+    out.append(SpelledNote.fromCode(code).getFullName());
+  }
+
+  /**
+   * Appends count packed SpelledNote codes (e.g. the output of
+   * Chord.spellInto) separated by separator.
+   */
+  public static void appendNotes(StringBuilder sb, int[] codes, int count, char separator) {
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        sb.append(separator);
+      }
+      sb.append(SpelledNote.fromCode(codes[i]).getFullName());
+    }
+  }
+
+  /**
+   * Returns whether a chord without quality notation reads back with the
+   * same tonic and modifiers.
+   */
+  private static boolean canOmitQuality(List<Modifier> modifiers) {
+    // Note: A leading alteration's accidentals would join the tonic's
+    return modifiers.isEmpty() || modifiers.get(0).Quality == 0;
+  }
+
+  /**
+   * Returns whether an unaltered leading modifier is written as a bare
+   * extension, which is only the case for tones no suffix adds (6 and 7).
+   */
+  private static boolean canWriteExtension(int index) {
+    return index >= addNotations.length || addNotations[index] == null;
+  }
+
+  /**
+   * Returns the longest notation of the quality whose implied modifiers lead
+   * the chord's, or null.
+   */
+  private static ChordVocabulary.Entry findCompound(MusicTheory.ChordQuality quality, List<Modifier> modifiers) {
+    for (ChordVocabulary.Entry entry : compounds[quality.ordinal()]) {
+      if (entry.Modifiers.size() <= modifiers.size() && entry.Modifiers.equals(modifiers.subList(0, entry.Modifiers.size()))) {
+        return entry;
+      }
+    }
+
+    return null;
+  }
+
+  private static void appendAdd(Appendable out, int index) throws IOException {
+    String add = index < addNotations.length ? addNotations[index] : null;
+    if (add != null) {
+      out.append(add);
+    } else {
+      ChordFormatter.appendIndex(out, index);
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<ChordVocabulary.Entry>[] createTable(int size) {
+    List<ChordVocabulary.Entry>[] table = new List[size];
+    for (int i = 0; i < size; i++) {
+      table[i] = new ArrayList<ChordVocabulary.Entry>();
+    }
+
+    return table;
+  }
+
+  private static void appendIndex(Appendable out, int index) throws IOException {
+    if (index >= 10) {
+      out.append((char) ('0' + index / 10));
+    }
+    out.append((char) ('0' + index % 10));
+  }
+
+  private static String findShortestNotation(MusicTheory.ChordQuality quality) {
+    if (quality == MusicTheory.ChordQuality.MajInferred) {
+      return "";
+    }
+
+    // Note: Case sensitive notations and those implying modifiers are only
+    //       read, never written
+    String best = null;
+    for (ChordVocabulary.Entry entry : ChordVocabulary.qualityNotations) {
+      if (entry.Quality != quality || entry.CaseSensitive || !entry.Modifiers.isEmpty()) {
+        continue;
+      }
+
+      String notation = entry.Notation;
+      if (best == null || notation.length() < best.length() || (notation.length() == best.length() && notation.compareTo(best) < 0)) {
+        best = notation;
+      }
+    }
+
+    return best;
+  }
+}
@@ -0,0 +1,146 @@
+package chordbuddy;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The tones of a chord relative to its tonic: for each present degree, the
+ * step of the tonic's major scale it sits on and its alteration from it.
+ *
+ * Each ChordQuality is defined below as data, as is what an unaltered
+ * modifier means on each degree (e.g. a plain 7 is flat on a minor chord
+ * and doubly flat on a diminished one). A chord's modifiers are applied to
+ * its quality's table once, when the chord is created, so spelling is a
+ * single indexed pass over the precomputed scale.
+ *
+ * @author Ryan
+ */
+final class ChordFormula {
+
+  // Note: Marks a degree that is not a chord tone
+  private static final int absent = Integer.MIN_VALUE;
+  // Note: Marks a plain modifier that leaves the degree as it is
+  private static final int unchanged = Integer.MAX_VALUE;
+  private static final int scaleLength = 7;
+
+  private static final int[][] qualityAlterations;
+  private static final int[][] plainAlterations;
+  private static final ChordFormula[] qualityFormulas;
+
+  private final int[] steps;
+  private final int[] alterations;
+  // Note: The tones from this index on lie above the seventh
+  private final int tensionStart;
+
+  static {
+    int qualities = MusicTheory.ChordQuality.values().length;
+    qualityAlterations = new int[qualities][];
+    plainAlterations = new int[qualities][];
+    qualityFormulas = new ChordFormula[qualities];
+
+    // Note: The tones are (degree, alteration) pairs, then the alteration of
+    //       a plain 7 modifier
+    ChordFormula.define(MusicTheory.ChordQuality.Maj, 0, 1, 0, 3, 0, 5, 0);
+    ChordFormula.define(MusicTheory.ChordQuality.MajInferred, -1, 1, 0, 3, 0, 5, 0);
+    ChordFormula.define(MusicTheory.ChordQuality.Min, -1, 1, 0, 3, -1, 5, 0);
+    ChordFormula.define(MusicTheory.ChordQuality.Dim, -2, 1, 0, 3, -1, 5, -1);
+    ChordFormula.define(MusicTheory.ChordQuality.HalfDim, -1, 1, 0, 3, -1, 5, -1, 7, -1);
+    ChordFormula.define(MusicTheory.ChordQuality.Aug, 0, 1, 0, 3, 0, 5, 1);
+    ChordFormula.define(MusicTheory.ChordQuality.Dom, unchanged, 1, 0, 3, 0, 5, 0, 7, -1);
+    ChordFormula.define(MusicTheory.ChordQuality.Sus2, 0, 1, 0, 2, 0, 5, 0);
+    ChordFormula.define(MusicTheory.ChordQuality.Sus4, 0, 1, 0, 4, 0, 5, 0);
+  }
+
+  private ChordFormula(int[] alterations) {
+    int count = 0;
+    for (int degree = 1; degree <= Chord.MAX_DEGREE; degree++) {
+      if (alterations[degree] != absent) {
+        count++;
+      }
+    }
+
+    this.steps = new int[count];
+    this.alterations = new int[count];
+
+    int i = 0;
+    int tensionStart = count;
+    for (int degree = 1; degree <= Chord.MAX_DEGREE; degree++) {
+      if (alterations[degree] != absent) {
+        if (degree > scaleLength && tensionStart == count) {
+          tensionStart = i;
+        }
+        this.steps[i] = (degree - 1) % scaleLength;
+        this.alterations[i] = alterations[degree];
+        i++;
+      }
+    }
+    this.tensionStart = tensionStart;
+  }
+
+  /**
+   * Returns the formula of a chord. Later modifiers override earlier ones
+   * targeting the same degree.
+   */
+  static ChordFormula create(MusicTheory.ChordQuality quality, List<Modifier> modifiers) {
+    if (modifiers.isEmpty()) {
+      return qualityFormulas[quality.ordinal()];
+    }
+
+    int[] alterations = qualityAlterations[quality.ordinal()].clone();
+    int[] plain = plainAlterations[quality.ordinal()];
+
+    for (int i = 0; i < modifiers.size(); i++) {
+      Modifier modifier = modifiers.get(i);
+      int degree = modifier.TargetIndex;
+      if (degree < 1 || degree > Chord.MAX_DEGREE) {
+        continue;
+      }
+
+      int alteration = modifier.Quality != 0 ? modifier.Quality : plain[degree];
+      if (alteration != unchanged) {
+        alterations[degree] = alteration;
+      }
+    }
+
+    return new ChordFormula(alterations);
+  }
+
+  /**
+   * Writes the packed SpelledNote code of each tone, built on the given
+   * major scale codes, into out and returns their number.
+   */
+  int spellInto(int[] scale, int[] out) {
+    for (int i = 0; i < this.steps.length; i++) {
+      out[i] = SpelledNote.alter(scale[this.steps[i]], this.alterations[i]);
+    }
+
+    return this.steps.length;
+  }
+
+  /**
+   * Like spellInto, but only writes the tensions, the tones above the
+   * seventh.
+   */
+  int spellTensionsInto(int[] scale, int[] out) {
+    for (int i = this.tensionStart; i < this.steps.length; i++) {
+      out[i - this.tensionStart] = SpelledNote.alter(scale[this.steps[i]], this.alterations[i]);
+    }
+
+    return this.steps.length - this.tensionStart;
+  }
+
+  private static void define(MusicTheory.ChordQuality quality, int plainSeventh, int... tones) {
+    int[] alterations = new int[Chord.MAX_DEGREE + 1];
+    Arrays.fill(alterations, absent);
+    for (int i = 0; i < tones.length; i += 2) {
+      alterations[tones[i]] = tones[i + 1];
+    }
+
+    int[] plain = new int[Chord.MAX_DEGREE + 1];
+    plain[7] = plainSeventh;
+
+    qualityAlterations[quality.ordinal()] = alterations;
+    plainAlterations[quality.ordinal()] = plain;
+    qualityFormulas[quality.ordinal()] = new ChordFormula(alterations);
+  }
+}
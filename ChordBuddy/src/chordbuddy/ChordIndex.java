@@ -0,0 +1,293 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse lookup from a set of notes to the chord symbols that spell it.
+ *
+ * The index enumerates every tonic (up to maxTonicAccidentals accidentals),
+ * every ChordQuality and every modifier string of the form
+ *   [6|7|9|11|13] followed by up to maxAlterations distinct single
+ *   alterations out of b5 #5 b9 #9 #11 b13, in that order
+ * and files each valid symbol under both its pitch class set and its spelled
+ * note set. Lookups are then a single array or hash access. This is a
+ * bounded subset of what MusicTheory.modifierRegex accepts, which also
+ * allows any number of alterations, repeats and doubled accidentals (bb,
+ * ##); chords outside it are simply not found.
+ *
+ * Candidates for a key are ranked as a chart would write them: shorter
+ * symbols first, then fewer tonic accidentals, then fewer modifiers. Symbols
+ * that spell exactly the same notes from the same tonic (e.g. "C7" and
+ * "Cdom") are listed once, under the best ranked spelling.
+ *
+ * @author Ryan
+ */
+public class ChordIndex {
+
+  public static final int DEFAULT_MAX_TONIC_ACCIDENTALS = 1;
+  public static final int DEFAULT_MAX_ALTERATIONS = 2;
+
+  private static final String[] extensions = {"", "6", "7", "9", "11", "13"};
+  private static final String[] alterations = {"b5", "#5", "b9", "#9", "#11", "b13"};
+
+  private final List<String>[] byPitchClasses;
+  private final Map<Long, List<String>> bySpelledNotes;
+  private final int symbolCount;
+
+  /**
+   * Builds the index with the default vocabulary.
+   */
+  public ChordIndex() {
+    this(DEFAULT_MAX_TONIC_ACCIDENTALS, DEFAULT_MAX_ALTERATIONS);
+  }
+
+  public ChordIndex(int maxTonicAccidentals, int maxAlterations) {
+    if (maxTonicAccidentals < 0 || maxTonicAccidentals > SpelledNote.MAX_INTERNED_QUALITY) {
+      throw new IllegalArgumentException("The tonic accidentals must be between 0 and " + SpelledNote.MAX_INTERNED_QUALITY + ": " + maxTonicAccidentals);
+    }
+    if (maxAlterations < 0 || maxAlterations > alterations.length) {
+      throw new IllegalArgumentException("The alterations must be between 0 and " + alterations.length + ": " + maxAlterations);
+    }
+
+    List<Candidate>[] pcs = ChordIndex.createTable(PitchClassSet.ALL_BITS + 1);
+    Map<Long, List<Candidate>> spelled = new HashMap<Long, List<Candidate>>();
+
+    List<String> modifierStrings = ChordIndex.enumerateModifiers(maxAlterations);
+    int[] codes = new int[Chord.MAX_NOTES];
+    int count = 0;
+
+    for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+      for (int quality = -maxTonicAccidentals; quality <= maxTonicAccidentals; quality++) {
+        SpelledNote tonic = SpelledNote.valueOf(letter, quality);
+
+        for (MusicTheory.ChordQuality chordQuality : MusicTheory.ChordQuality.values()) {
+          String prefix = tonic.getFullName() + ChordFormatter.getNotation(chordQuality);
+
+          for (int i = 0; i < modifierStrings.size(); i++) {
+            String symbol = prefix + modifierStrings.get(i);
+            Chord chord = Chord.create(symbol);
+
+            // Note: Skip symbols the grammar reads differently than intended,
+            //       e.g. a flat tonic followed by b5
+            if (chord == null || !chord.getSpelledTonic().equals(tonic)) {
+              continue;
+            }
+
+            int noteCount = chord.spellInto(codes);
+            long spelledBits = SpelledNoteSet.bitsOf(codes, noteCount);
+            Candidate candidate = new Candidate(symbol, tonic, chord.getModifiers().size(), spelledBits);
+
+            pcs[PitchClassSet.bitsOf(codes, noteCount)].add(candidate);
+            if (spelledBits != 0) {
+              List<Candidate> list = spelled.get(spelledBits);
+              if (list == null) {
+                list = new ArrayList<Candidate>();
+                spelled.put(spelledBits, list);
+              }
+              list.add(candidate);
+            }
+            count++;
+          }
+        }
+      }
+    }
+
+    this.byPitchClasses = ChordIndex.createStringTable(pcs.length);
+    for (int i = 0; i < pcs.length; i++) {
+      this.byPitchClasses[i] = ChordIndex.rank(pcs[i]);
+    }
+
+    this.bySpelledNotes = new HashMap<Long, List<String>>(spelled.size() * 2);
+    for (Map.Entry<Long, List<Candidate>> entry : spelled.entrySet()) {
+      this.bySpelledNotes.put(entry.getKey(), ChordIndex.rank(entry.getValue()));
+    }
+
+    this.symbolCount = count;
+  }
+
+  /**
+   * Returns the shared index with the default vocabulary, building it on
+   * first use.
+   */
+  public static ChordIndex getDefault() {
+    return DefaultHolder.index;
+  }
+
+  /**
+   * Returns the ranked symbols sounding exactly the given pitch classes,
+   * ignoring spelling. The list is empty if no symbol matches.
+   */
+  public List<String> lookup(PitchClassSet pitchClasses) {
+    return this.byPitchClasses[pitchClasses.getBits()];
+  }
+
+  public List<String> lookupPitchClasses(int bits) {
+    return this.byPitchClasses[bits & PitchClassSet.ALL_BITS];
+  }
+
+  /**
+   * Returns the ranked symbols spelling exactly the given notes. The list is
+   * empty if no symbol matches.
+   */
+  public List<String> lookup(SpelledNoteSet notes) {
+    List<String> symbols = this.bySpelledNotes.get(notes.getBits());
+    return symbols != null ? symbols : Collections.<String>emptyList();
+  }
+
+  /**
+   * Returns the ranked symbols spelling exactly the given notes, in any
+   * order and with duplicates ignored.
+   */
+  public List<String> lookup(List<Note> notes) {
+    if (notes == null) {
+      return null;
+    }
+
+    long bits = 0;
+    for (Note note : notes) {
+      long bit = SpelledNoteSet.bitOf(note.toSpelledNote().getCode());
+      if (bit == 0) {
+        return Collections.<String>emptyList();
+      }
+      bits |= bit;
+    }
+
+    return this.lookup(SpelledNoteSet.fromBits(bits));
+  }
+
+  /**
+   * Returns the number of symbols enumerated while building the index.
+   */
+  public int getSymbolCount() {
+    return this.symbolCount;
+  }
+
+  /**
+   * Returns every modifier string with up to maxAlterations distinct single
+   * alterations, the empty one first.
+   */
+  static List<String> enumerateModifiers(int maxAlterations) {
+    List<String> combinations = new ArrayList<String>();
+    ChordIndex.combine("", 0, maxAlterations, combinations);
+
+    List<String> modifiers = new ArrayList<String>();
+    for (String extension : extensions) {
+      for (String combination : combinations) {
+        modifiers.add(extension + combination);
+      }
+    }
+
+    return modifiers;
+  }
+
+  private static void combine(String prefix, int start, int remaining, List<String> out) {
+    out.add(prefix);
+    if (remaining == 0) {
+      return;
+    }
+
+    for (int i = start; i < alterations.length; i++) {
+      ChordIndex.combine(prefix + alterations[i], i + 1, remaining - 1, out);
+    }
+  }
+
+  private static List<String> rank(List<Candidate> candidates) {
+    if (candidates.isEmpty()) {
+      return Collections.<String>emptyList();
+    }
+
+    Collections.sort(candidates, Candidate.byRank);
+
+    List<String> symbols = new ArrayList<String>(candidates.size());
+    Set<Candidate> seen = new HashSet<Candidate>();
+    for (Candidate candidate : candidates) {
+      if (seen.add(candidate)) {
+        symbols.add(candidate.symbol);
+      }
+    }
+
+    return Collections.unmodifiableList(symbols);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<Candidate>[] createTable(int size) {
+    List<Candidate>[] table = new List[size];
+    for (int i = 0; i < size; i++) {
+      table[i] = new ArrayList<Candidate>(0);
+    }
+
+    return table;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<String>[] createStringTable(int size) {
+    return new List[size];
+  }
+
+  private static class DefaultHolder {
+
+    static final ChordIndex index = new ChordIndex();
+  }
+
+  /**
+   * A symbol being ranked. Candidates are equal when they spell the same
+   * notes from the same tonic.
+   */
+  private static class Candidate {
+
+    static final Comparator<Candidate> byRank = new Comparator<Candidate>() {
+
+      public int compare(Candidate a, Candidate b) {
+        if (a.symbol.length() != b.symbol.length()) {
+          return a.symbol.length() - b.symbol.length();
+        }
+
+        int accidentals = Math.abs(a.tonic.getQuality()) - Math.abs(b.tonic.getQuality());
+        if (accidentals != 0) {
+          return accidentals;
+        }
+        if (a.modifierCount != b.modifierCount) {
+          return a.modifierCount - b.modifierCount;
+        }
+
+        return a.symbol.compareTo(b.symbol);
+      }
+    };
+
+    final String symbol;
+    final SpelledNote tonic;
+    final int modifierCount;
+    final long spelledBits;
+
+    Candidate(String symbol, SpelledNote tonic, int modifierCount, long spelledBits) {
+      this.symbol = symbol;
+      this.tonic = tonic;
+      this.modifierCount = modifierCount;
+      this.spelledBits = spelledBits;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (!(other instanceof Candidate)) {
+        return false;
+      }
+
+      Candidate c = (Candidate) other;
+      return this.tonic.equals(c.tonic) && this.spelledBits == c.spelledBits && this.spelledBits != 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return this.tonic.hashCode() * 31 + (int) (this.spelledBits ^ (this.spelledBits >>> 32));
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Parses whole batches of chord symbols, optionally spreading the work over
+ * an executor. Results always come back in input order, one per symbol, and
+ * invalid symbols are reported as failed results rather than thrown.
+ *
+ * The executor is owned by the caller; any ExecutorService works, including a
+ * ForkJoinPool sized to the desired parallelism.
+ *
+ * @author Ryan
+ */
+public class ChordParser {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+  private final ExecutorService executor;
+  private final int parallelism;
+  private final int chunkSize;
+
+  /**
+   * Creates a parser that works sequentially on the calling thread.
+   */
+  public ChordParser() {
+    this(null, 1, DEFAULT_CHUNK_SIZE);
+  }
+
+  public ChordParser(ExecutorService executor, int parallelism) {
+    this(executor, parallelism, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param executor    the executor to parse on, or null to parse on the
+   *                    calling thread
+   * @param parallelism the most chunks to have in flight at once
+   * @param chunkSize   the most symbols handed to a single task
+   */
+  public ChordParser(ExecutorService executor, int parallelism, int chunkSize) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The parallelism must be positive: " + parallelism);
+    }
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+    }
+
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Parses every symbol, returning one result per symbol in input order.
+   */
+  public List<ParseResult> parseAll(List<String> symbols) {
+    List<ParseResult> results = new ArrayList<ParseResult>(symbols.size());
+
+    Iterator<ParseResult> it = this.parse(symbols.iterator());
+    while (it.hasNext()) {
+      results.add(it.next());
+    }
+
+    return results;
+  }
+
+  /**
+   * Lazily parses symbols as they are drawn from the returned iterator. At
+   * most parallelism chunks are read ahead, so arbitrarily long inputs are
+   * parsed in bounded memory.
+   */
+  public Iterator<ParseResult> parse(Iterator<String> symbols) {
+    return new ResultIterator(symbols);
+  }
+
+  private static ParseResult[] parseChunk(int offset, String[] chunk) {
+    ParseResult[] results = new ParseResult[chunk.length];
+    for (int i = 0; i < chunk.length; i++) {
+      results[i] = ParseResult.parse(offset + i, chunk[i]);
+    }
+
+    return results;
+  }
+
+  private static ParseResult[] failChunk(int offset, String[] chunk, String error) {
+    ParseResult[] results = new ParseResult[chunk.length];
+    for (int i = 0; i < chunk.length; i++) {
+      results[i] = ParseResult.failure(offset + i, chunk[i], error);
+    }
+
+    return results;
+  }
+
+  private class ResultIterator implements Iterator<ParseResult> {
+
+    private final Iterator<String> symbols;
+    private final Queue<PendingChunk> pending;
+    private int nextIndex;
+    private ParseResult[] current;
+    private int currentPosition;
+
+    ResultIterator(Iterator<String> symbols) {
+      this.symbols = symbols;
+      this.pending = new LinkedList<PendingChunk>();
+      this.nextIndex = 0;
+      this.current = new ParseResult[0];
+      this.currentPosition = 0;
+    }
+
+    public boolean hasNext() {
+      while (this.currentPosition >= this.current.length) {
+        this.fill();
+        if (this.pending.isEmpty()) {
+          return false;
+        }
+
+        this.current = this.pending.remove().get();
+        this.currentPosition = 0;
+      }
+
+      return true;
+    }
+
+    public ParseResult next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      return this.current[this.currentPosition++];
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    private void fill() {
+      while (this.pending.size() < ChordParser.this.parallelism && this.symbols.hasNext()) {
+        String[] chunk = new String[ChordParser.this.chunkSize];
+        int length = 0;
+        while (length < chunk.length && this.symbols.hasNext()) {
+          chunk[length++] = this.symbols.next();
+        }
+
+        if (length < chunk.length) {
+          String[] trimmed = new String[length];
+          System.arraycopy(chunk, 0, trimmed, 0, length);
+          chunk = trimmed;
+        }
+
+        this.pending.add(new PendingChunk(this.nextIndex, chunk));
+        this.nextIndex += length;
+      }
+    }
+  }
+
+  private class PendingChunk {
+
+    private final int offset;
+    private final String[] chunk;
+    private Future<ParseResult[]> future;
+    private String error;
+
+    PendingChunk(final int offset, final String[] chunk) {
+      this.offset = offset;
+      this.chunk = chunk;
+
+      if (ChordParser.this.executor != null) {
+        try {
+          this.future = ChordParser.this.executor.submit(new Callable<ParseResult[]>() {
+
+            public ParseResult[] call() {
+              return ChordParser.parseChunk(offset, chunk);
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          this.error = "The executor rejected the parse task: " + e.getMessage();
+        }
+      }
+    }
+
+    ParseResult[] get() {
+      if (this.error != null) {
+        return ChordParser.failChunk(this.offset, this.chunk, this.error);
+      } else if (this.future == null) {
+        return ChordParser.parseChunk(this.offset, this.chunk);
+      }
+
+      try {
+        return this.future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return ChordParser.failChunk(this.offset, this.chunk, "Interrupted while waiting for parse results");
+      } catch (ExecutionException e) {
+        return ChordParser.failChunk(this.offset, this.chunk, e.getCause().toString());
+      }
+    }
+  }
+}
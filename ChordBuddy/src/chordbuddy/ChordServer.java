@@ -0,0 +1,279 @@
+package chordbuddy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP service for chord spelling and scale lookup, so a single warm
+ * JVM can serve many clients over keep-alive connections.
+ *
+ * Endpoints:
+ *   GET  /chord?symbol=G7     => one result line for the symbol
+ *   POST /chord               => one result line per line of the body
+ *   GET  /scale?tonic=Bb      => the tonic's major scale
+ *   POST /scale               => one major scale per line of the body
+ *   GET  /stats               => latency histogram per endpoint, followed
+ *                                by the library Metrics when enabled
+ *
+ * Chord results use the ChordBatch formats (?format=jsonl, the default, or
+ * ?format=tsv). Note that a literal "+" in a query string decodes to a space,
+ * so augmented chords must be sent as "%2B" or in a POST body.
+ *
+ * @author Ryan
+ */
+public class ChordServer {
+
+  private static final String charset = "UTF-8";
+
+  private final HttpServer server;
+  private final Map<String, LatencyHistogram> histograms;
+
+  /**
+   * @param address  the address to listen on
+   * @param executor the executor handling requests; the caller owns its
+   *                 lifecycle
+   */
+  public ChordServer(InetSocketAddress address, ExecutorService executor) throws IOException {
+    this.server = HttpServer.create(address, 0);
+    this.server.setExecutor(executor);
+
+    this.histograms = new LinkedHashMap<String, LatencyHistogram>();
+    this.addEndpoint("/chord", new ChordHandler());
+    this.addEndpoint("/scale", new ScaleHandler());
+    this.addEndpoint("/stats", new StatsHandler());
+  }
+
+  /**
+   * Returns an executor running each task on its own virtual thread, or null
+   * if the running JVM does not support virtual threads.
+   */
+  public static ExecutorService createVirtualThreadExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  public void start() {
+    this.server.start();
+  }
+
+  /**
+   * Stops accepting requests, waiting up to delaySeconds for in-flight
+   * exchanges to finish.
+   */
+  public void stop(int delaySeconds) {
+    this.server.stop(delaySeconds);
+  }
+
+  public int getPort() {
+    return this.server.getAddress().getPort();
+  }
+
+  public LatencyHistogram getHistogram(String path) {
+    return this.histograms.get(path);
+  }
+
+  private void addEndpoint(String path, Endpoint endpoint) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    this.histograms.put(path, histogram);
+    this.server.createContext(path, new TimedHandler(endpoint, histogram));
+  }
+
+  private static Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
+    Map<String, String> params = new LinkedHashMap<String, String>();
+    if (query == null) {
+      return params;
+    }
+
+    for (String pair : query.split("&")) {
+      int eq = pair.indexOf('=');
+      if (eq < 0) {
+        params.put(URLDecoder.decode(pair, charset), "");
+      } else {
+        params.put(URLDecoder.decode(pair.substring(0, eq), charset), URLDecoder.decode(pair.substring(eq + 1), charset));
+      }
+    }
+
+    return params;
+  }
+
+  private static BufferedReader readBody(HttpExchange exchange) throws IOException {
+    return new BufferedReader(new InputStreamReader(exchange.getRequestBody(), charset));
+  }
+
+  private static void appendScale(StringBuilder sb, String tonicSymbol) {
+    Note tonic = Note.create(tonicSymbol);
+
+    sb.append("{\"tonic\":");
+    ChordBatch.appendJsonString(sb, tonicSymbol);
+    if (tonic == null) {
+      sb.append(",\"error\":\"Invalid note symbol\"}\n");
+      return;
+    }
+
+    sb.append(",\"scale\":[");
+    List<SpelledNote> scale = MusicTheory.spellMajorScale(tonic.toSpelledNote());
+    for (int i = 0; i < scale.size(); i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append('"').append(scale.get(i).getFullName()).append('"');
+    }
+    sb.append("]}\n");
+  }
+
+  /**
+   * A request handler returning the response status and filling in the body.
+   */
+  private interface Endpoint {
+
+    int handle(HttpExchange exchange, Map<String, String> params, OutputStream body) throws IOException;
+  }
+
+  private static class TimedHandler implements HttpHandler {
+
+    private final Endpoint endpoint;
+    private final LatencyHistogram histogram;
+
+    TimedHandler(Endpoint endpoint, LatencyHistogram histogram) {
+      this.endpoint = endpoint;
+      this.histogram = histogram;
+    }
+
+    public void handle(HttpExchange exchange) throws IOException {
+      long start = System.nanoTime();
+      boolean recorded = false;
+
+      try {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        int status;
+
+        try {
+          status = this.endpoint.handle(exchange, ChordServer.parseQuery(exchange.getRequestURI().getRawQuery()), body);
+        } catch (IllegalArgumentException e) {
+          body.reset();
+          body.write(("Malformed request: " + e.getMessage() + "\n").getBytes(charset));
+          status = 400;
+        }
+
+        // Note: Latency is the service time up to the response being ready,
+        //       recorded before the client can observe the response
+        this.histogram.record(System.nanoTime() - start);
+        recorded = true;
+
+        // Note: Always sending a known length keeps the connection reusable
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=" + charset);
+        exchange.sendResponseHeaders(status, body.size() == 0 ? -1 : body.size());
+        if (body.size() > 0) {
+          body.writeTo(exchange.getResponseBody());
+        }
+      } finally {
+        // Note: Requests that fail before a response is ready still count
+        if (!recorded) {
+          this.histogram.record(System.nanoTime() - start);
+        }
+        exchange.close();
+      }
+    }
+  }
+
+  private static class ChordHandler implements Endpoint {
+
+    public int handle(HttpExchange exchange, Map<String, String> params, OutputStream body) throws IOException {
+      ChordBatch.Format format = ChordBatch.Format.Jsonl;
+      if (params.containsKey("format")) {
+        format = ChordBatch.parseFormat(params.get("format"));
+        if (format == null) {
+          body.write("Unknown output format\n".getBytes(charset));
+          return 400;
+        }
+      }
+
+      BufferedReader in;
+      if (exchange.getRequestMethod().equals("POST")) {
+        in = ChordServer.readBody(exchange);
+      } else if (exchange.getRequestMethod().equals("GET") && params.containsKey("symbol")) {
+        in = new BufferedReader(new StringReader(params.get("symbol")));
+      } else if (exchange.getRequestMethod().equals("GET")) {
+        body.write("Missing symbol parameter\n".getBytes(charset));
+        return 400;
+      } else {
+        return 405;
+      }
+
+      Writer out = new OutputStreamWriter(body, charset);
+      new ChordBatch(format).run(in, out);
+
+      return 200;
+    }
+  }
+
+  private static class ScaleHandler implements Endpoint {
+
+    public int handle(HttpExchange exchange, Map<String, String> params, OutputStream body) throws IOException {
+      StringBuilder sb = new StringBuilder();
+
+      if (exchange.getRequestMethod().equals("POST")) {
+        BufferedReader in = ChordServer.readBody(exchange);
+        String line;
+        while ((line = in.readLine()) != null) {
+          if (!Utilities.isBlank(line)) {
+            ChordServer.appendScale(sb, line);
+          }
+        }
+      } else if (exchange.getRequestMethod().equals("GET") && params.containsKey("tonic")) {
+        ChordServer.appendScale(sb, params.get("tonic"));
+      } else if (exchange.getRequestMethod().equals("GET")) {
+        sb.append("Missing tonic parameter\n");
+        body.write(sb.toString().getBytes(charset));
+        return 400;
+      } else {
+        return 405;
+      }
+
+      body.write(sb.toString().getBytes(charset));
+      return 200;
+    }
+  }
+
+  private class StatsHandler implements Endpoint {
+
+    public int handle(HttpExchange exchange, Map<String, String> params, OutputStream body) throws IOException {
+      if (!exchange.getRequestMethod().equals("GET")) {
+        return 405;
+      }
+
+      StringBuilder sb = new StringBuilder();
+      for (Map.Entry<String, LatencyHistogram> entry : ChordServer.this.histograms.entrySet()) {
+        sb.append(entry.getKey()).append('\t').append(entry.getValue()).append('\n');
+      }
+      if (Metrics.isEnabled()) {
+        Metrics.dump(sb);
+      }
+
+      body.write(sb.toString().getBytes(charset));
+      return 200;
+    }
+  }
+}
@@ -0,0 +1,367 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-pass scanner for chord symbols.
+ *
+ * Accepts exactly the language described by MusicTheory.tonicRegex,
+ * accidentalRegex, qualityRegex, modifierRegex and bassRegex (whitespace
+ * anywhere is ignored) and yields the same tonic, quality, modifiers and bass
+ * as the regex based accessors on Chord, without compiling patterns or
+ * building intermediate strings. Its notations come from the same
+ * ChordVocabulary tables as the regexes.
+ *
+ * @author Ryan
+ */
+class ChordSymbolLexer {
+
+  private static final char flatChar;
+  private static final char sharpChar;
+  private static final char slashChar;
+  private static final MusicTheory.NoteName[] letters;
+  private static final char[][] qualityNotations;
+  private static final boolean[] qualityCaseSensitive;
+  private static final MusicTheory.ChordQuality[] qualityValues;
+  private static final Modifier[][] qualityModifiers;
+  private static final char[][] suffixNotations;
+  private static final boolean[] suffixCaseSensitive;
+  private static final Modifier[][] suffixModifiers;
+
+  private final CharSequence symbol;
+  private final int end;
+  private int pos;
+
+  static {
+    flatChar = MusicTheory.notationFlatChar;
+    sharpChar = MusicTheory.notationSharpChar;
+    slashChar = MusicTheory.notationSlashChar;
+    letters = MusicTheory.NoteName.values();
+
+    // Note: Longer notations are tried first so that "major" is not cut short
+    //       by "maj", nor "maj9" by "maj" followed by a 9
+    List<ChordVocabulary.Entry> qualities = ChordVocabulary.qualityNotations;
+    qualityNotations = new char[qualities.size()][];
+    qualityCaseSensitive = new boolean[qualities.size()];
+    qualityValues = new MusicTheory.ChordQuality[qualities.size()];
+    qualityModifiers = new Modifier[qualities.size()][];
+    for (int i = 0; i < qualities.size(); i++) {
+      ChordVocabulary.Entry entry = qualities.get(i);
+      qualityNotations[i] = ChordSymbolLexer.toChars(entry);
+      qualityCaseSensitive[i] = entry.CaseSensitive;
+      qualityValues[i] = entry.Quality;
+      qualityModifiers[i] = entry.Modifiers.toArray(new Modifier[entry.Modifiers.size()]);
+    }
+
+    List<ChordVocabulary.Entry> suffixes = ChordVocabulary.suffixNotations;
+    suffixNotations = new char[suffixes.size()][];
+    suffixCaseSensitive = new boolean[suffixes.size()];
+    suffixModifiers = new Modifier[suffixes.size()][];
+    for (int i = 0; i < suffixes.size(); i++) {
+      ChordVocabulary.Entry entry = suffixes.get(i);
+      suffixNotations[i] = ChordSymbolLexer.toChars(entry);
+      suffixCaseSensitive[i] = entry.CaseSensitive;
+      suffixModifiers[i] = entry.Modifiers.toArray(new Modifier[entry.Modifiers.size()]);
+    }
+  }
+
+  private ChordSymbolLexer(CharSequence symbol, int start, int end) {
+    this.symbol = symbol;
+    this.end = end;
+    this.pos = start;
+  }
+
+  static Chord lex(CharSequence symbol, int start, int end) {
+    if (symbol == null) {
+      return null;
+    }
+
+    // Note: Neither the chord nor the bass can contain a slash, so a slash
+    //       chord is lexed as a chord up to its first slash followed by a note
+    int slash = start;
+    while (slash < end && symbol.charAt(slash) != slashChar) {
+      slash++;
+    }
+
+    if (slash == end) {
+      return new ChordSymbolLexer(symbol, start, end).lex(null);
+    }
+
+    SpelledNote bass = new ChordSymbolLexer(symbol, slash + 1, end).lexNote();
+    if (bass == null) {
+      return null;
+    }
+
+    return new ChordSymbolLexer(symbol, start, slash).lex(bass);
+  }
+
+  /**
+   * Lexes a lone note symbol (a letter and a run of one accidental), as
+   * accepted by MusicTheory.noteSymbolPattern.
+   */
+  static SpelledNote lexNote(CharSequence symbol, int start, int end) {
+    if (symbol == null) {
+      return null;
+    }
+
+    return new ChordSymbolLexer(symbol, start, end).lexNote();
+  }
+
+  private SpelledNote lexNote() {
+    this.skipWhitespace();
+
+    MusicTheory.NoteName letter = ChordSymbolLexer.letterOf(this.peek());
+    if (this.pos >= this.end || letter == null) {
+      return null;
+    }
+    this.advance();
+
+    int quality = 0;
+    char accidental = this.peek();
+    if (ChordSymbolLexer.isAccidental(accidental)) {
+      while (this.peek() == accidental) {
+        quality++;
+        this.advance();
+      }
+
+      if (accidental == flatChar) {
+        quality *= -1;
+      }
+    }
+
+    return this.pos < this.end ? null : SpelledNote.valueOf(letter, quality);
+  }
+
+  private Chord lex(SpelledNote bass) {
+    this.skipWhitespace();
+    if (this.pos >= this.end) {
+      return null;
+    }
+
+    char tonicChar = this.symbol.charAt(this.pos);
+    MusicTheory.NoteName letter = ChordSymbolLexer.letterOf(tonicChar);
+    if (letter == null) {
+      return null;
+    }
+    this.advance();
+
+    // Tonic accidentals are a run of a single accidental character
+    int tonicQuality = 0;
+    int firstAccidental = this.pos;
+    int lastAccidental = this.pos;
+    char accidental = this.peek();
+    if (ChordSymbolLexer.isAccidental(accidental)) {
+      while (this.peek() == accidental) {
+        lastAccidental = this.pos;
+        tonicQuality++;
+        this.advance();
+      }
+
+      if (accidental == flatChar) {
+        tonicQuality *= -1;
+      }
+    }
+
+    int qualityStart = this.pos;
+    MusicTheory.ChordQuality inferredQuality = Character.isLowerCase(tonicChar) ?
+            MusicTheory.ChordQuality.Min :
+            MusicTheory.ChordQuality.MajInferred;
+    List<Modifier> modifiers = new ArrayList<Modifier>();
+
+    // Note: The regex alternation tries flats before sharps, so a run of
+    //       sharps is first lent in its entirety to the first modifier
+    //       (e.g. "C#9" => C# with a #9)
+    if (accidental == sharpChar) {
+      this.pos = firstAccidental;
+      if (this.lexModifiers(false, true, modifiers)) {
+        return new Chord(SpelledNote.valueOf(letter, tonicQuality), inferredQuality, modifiers, bass);
+      }
+      modifiers.clear();
+    }
+
+    for (int i = 0; i < qualityNotations.length; i++) {
+      this.pos = qualityStart;
+      if (!this.matchNotation(qualityNotations[i], qualityCaseSensitive[i])) {
+        continue;
+      }
+
+      // Note: A notation implying modifiers already carries its extension
+      Collections.addAll(modifiers, qualityModifiers[i]);
+      if (this.lexModifiers(qualityModifiers[i].length == 0, false, modifiers)) {
+        return new Chord(SpelledNote.valueOf(letter, tonicQuality), qualityValues[i], modifiers, bass);
+      }
+      modifiers.clear();
+    }
+
+    this.pos = qualityStart;
+    if (this.lexModifiers(true, true, modifiers)) {
+      return new Chord(SpelledNote.valueOf(letter, tonicQuality), inferredQuality, modifiers, bass);
+    }
+    modifiers.clear();
+
+    // Note: When that fails, the regex backtracks and lends the last flat of
+    //       the tonic to the first modifier (e.g. "Cb5" => Cb with a b5)
+    if (accidental == flatChar) {
+      this.pos = lastAccidental;
+      if (this.lexModifiers(false, true, modifiers)) {
+        return new Chord(SpelledNote.valueOf(letter, tonicQuality), inferredQuality, modifiers, bass);
+      }
+    }
+
+    return null;
+  }
+
+  private boolean lexModifiers(boolean allowExtension, boolean unqualified, List<Modifier> modifiers) {
+    if (allowExtension && ChordSymbolLexer.isDigit(this.peek())) {
+      int index = this.lexIndex();
+      if (index != 6 && index != 7 && index != 9 && index != 11 && index != 13) {
+        return false;
+      }
+
+      modifiers.add(new Modifier(index, 0));
+    }
+
+    while (this.pos < this.end) {
+      char accidental = this.peek();
+      if (!ChordSymbolLexer.isAccidental(accidental)) {
+        if (!this.lexSuffix(modifiers)) {
+          return false;
+        }
+        continue;
+      }
+
+      int quality = 0;
+      while (this.peek() == accidental) {
+        quality++;
+        this.advance();
+      }
+
+      int index = this.lexIndex();
+      if (index != 5 && index != 7 && index != 9 && index != 11 && index != 13) {
+        return false;
+      }
+
+      if (accidental == flatChar) {
+        quality *= -1;
+      }
+
+      if (unqualified && modifiers.isEmpty() && index == 7) {
+        quality = 0;
+      }
+
+      modifiers.add(new Modifier(index, quality));
+    }
+
+    return true;
+  }
+
+  /**
+   * Reads one of the modifier indices (a single digit or "1" followed by a
+   * digit), returning -1 if no such index is present.
+   */
+  private int lexIndex() {
+    char c = this.peek();
+    if (!ChordSymbolLexer.isDigit(c)) {
+      return -1;
+    }
+    this.advance();
+
+    int index = c - '0';
+    if (index == 1) {
+      c = this.peek();
+      if (!ChordSymbolLexer.isDigit(c)) {
+        return -1;
+      }
+      this.advance();
+
+      index = 10 + (c - '0');
+    }
+
+    return index;
+  }
+
+  /**
+   * Reads one suffix notation, adding the modifiers it stands for.
+   */
+  private boolean lexSuffix(List<Modifier> modifiers) {
+    int start = this.pos;
+
+    for (int i = 0; i < suffixNotations.length; i++) {
+      this.pos = start;
+      if (this.matchNotation(suffixNotations[i], suffixCaseSensitive[i])) {
+        Collections.addAll(modifiers, suffixModifiers[i]);
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private boolean matchNotation(char[] notation, boolean caseSensitive) {
+    for (int i = 0; i < notation.length; i++) {
+      char c = this.peek();
+      if (!caseSensitive && c >= 'A' && c <= 'Z') {
+        c = (char) (c + ('a' - 'A'));
+      }
+
+      if (this.pos >= this.end || c != notation[i]) {
+        return false;
+      }
+      this.advance();
+    }
+
+    return true;
+  }
+
+  private char peek() {
+    return this.pos < this.end ? this.symbol.charAt(this.pos) : '\0';
+  }
+
+  private void advance() {
+    this.pos++;
+    this.skipWhitespace();
+  }
+
+  private void skipWhitespace() {
+    while (this.pos < this.end && Utilities.isWhitespace(this.symbol.charAt(this.pos))) {
+      this.pos++;
+    }
+  }
+
+  private static char[] toChars(ChordVocabulary.Entry entry) {
+    String notation = entry.Notation;
+    if (!entry.CaseSensitive) {
+      // Note: Lower case ASCII only, as the regexes fold no other case
+      char[] chars = notation.toCharArray();
+      for (int i = 0; i < chars.length; i++) {
+        if (chars[i] >= 'A' && chars[i] <= 'Z') {
+          chars[i] = (char) (chars[i] + ('a' - 'A'));
+        }
+      }
+
+      return chars;
+    }
+
+    return notation.toCharArray();
+  }
+
+  private static MusicTheory.NoteName letterOf(char c) {
+    if (c >= 'a' && c <= 'g') {
+      return letters[c - 'a'];
+    } else if (c >= 'A' && c <= 'G') {
+      return letters[c - 'A'];
+    }
+
+    return null;
+  }
+
+  private static boolean isAccidental(char c) {
+    return c == flatChar || c == sharpChar;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
@@ -0,0 +1,61 @@
+package chordbuddy;
+
+/**
+ * A chord symbol found in running text by LeadSheetTokenizer, with the
+ * position of its first character.
+ *
+ * @author Ryan
+ */
+public class ChordToken {
+
+  private final String symbol;
+  private final Chord chord;
+  private final long offset;
+  private final long line;
+  private final int column;
+
+  ChordToken(String symbol, Chord chord, long offset, long line, int column) {
+    this.symbol = symbol;
+    this.chord = chord;
+    this.offset = offset;
+    this.line = line;
+    this.column = column;
+  }
+
+  /**
+   * The symbol exactly as it appears in the text.
+   */
+  public String getSymbol() {
+    return this.symbol;
+  }
+
+  public Chord getChord() {
+    return this.chord;
+  }
+
+  /**
+   * The zero-based char offset of the symbol from the start of the text.
+   */
+  public long getOffset() {
+    return this.offset;
+  }
+
+  /**
+   * The one-based line of the symbol.
+   */
+  public long getLine() {
+    return this.line;
+  }
+
+  /**
+   * The one-based column of the symbol within its line.
+   */
+  public int getColumn() {
+    return this.column;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d:%d: '%s'", this.line, this.column, this.symbol);
+  }
+}
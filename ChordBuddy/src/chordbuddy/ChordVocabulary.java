@@ -0,0 +1,177 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The words chord symbols are built from, kept as data so that both the
+ * regex grammar in MusicTheory and ChordSymbolLexer are compiled from the
+ * same table once, and new words cost nothing on the parsing hot path.
+ *
+ * Quality notations follow the tonic and give the chord its quality, plus
+ * any modifiers they imply: "maj9", "maj11" and "maj13" imply the major
+ * seventh and the extensions below them, as they are read on charts, and
+ * no other extension may follow them (e.g. "Cmaj913" is not a symbol).
+ * Other extensions keep adding a single tone, e.g. "fmin11" => F Ab C Bb.
+ *
+ * Suffix notations may appear anywhere among the modifiers and stand for a
+ * fixed list of them, e.g. "add9" or "alt". A suffix must not start with an
+ * accidental or a digit, and none may be a prefix of another.
+ *
+ * Notations are case insensitive unless marked otherwise, so that "m" (minor)
+ * and "M" (major) can both be told apart.
+ *
+ * @author Ryan
+ */
+public final class ChordVocabulary {
+
+  /**
+   * One notation and what it stands for. Quality is null for suffixes.
+   */
+  public static class Entry {
+
+    public final String Notation;
+    public final MusicTheory.ChordQuality Quality;
+    public final boolean CaseSensitive;
+    public final List<Modifier> Modifiers;
+
+    Entry(String notation, MusicTheory.ChordQuality quality, boolean caseSensitive, int... modifiers) {
+      List<Modifier> list = new ArrayList<Modifier>(modifiers.length / 2);
+      for (int i = 0; i < modifiers.length; i += 2) {
+        list.add(new Modifier(modifiers[i], modifiers[i + 1]));
+      }
+
+      this.Notation = notation;
+      this.Quality = quality;
+      this.CaseSensitive = caseSensitive;
+      this.Modifiers = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Returns whether the notation is exactly text, ignoring ASCII case
+     * unless the entry is case sensitive.
+     */
+    public boolean matches(String text) {
+      return this.CaseSensitive ? this.Notation.equals(text) : this.Notation.equalsIgnoreCase(text);
+    }
+
+    @Override
+    public String toString() {
+      return this.Notation;
+    }
+  }
+
+  /**
+   * Every quality notation, longest first.
+   */
+  public static final List<Entry> qualityNotations;
+
+  /**
+   * Every suffix notation, longest first.
+   */
+  public static final List<Entry> suffixNotations;
+
+  private ChordVocabulary() {
+  }
+
+  static {
+    List<Entry> qualities = new ArrayList<Entry>();
+    qualities.add(new Entry("maj", MusicTheory.ChordQuality.Maj, false));
+    qualities.add(new Entry("major", MusicTheory.ChordQuality.Maj, false));
+    qualities.add(new Entry("M", MusicTheory.ChordQuality.Maj, true));
+    qualities.add(new Entry("min", MusicTheory.ChordQuality.Min, false));
+    qualities.add(new Entry("minor", MusicTheory.ChordQuality.Min, false));
+    qualities.add(new Entry("m", MusicTheory.ChordQuality.Min, true));
+    qualities.add(new Entry("-", MusicTheory.ChordQuality.Min, false));
+    qualities.add(new Entry("dim", MusicTheory.ChordQuality.Dim, false));
+    qualities.add(new Entry("diminished", MusicTheory.ChordQuality.Dim, false));
+    qualities.add(new Entry("\u00f8", MusicTheory.ChordQuality.HalfDim, false));
+    qualities.add(new Entry("aug", MusicTheory.ChordQuality.Aug, false));
+    qualities.add(new Entry("augmented", MusicTheory.ChordQuality.Aug, false));
+    qualities.add(new Entry("+", MusicTheory.ChordQuality.Aug, false));
+    qualities.add(new Entry("dom", MusicTheory.ChordQuality.Dom, false));
+    qualities.add(new Entry("dominant", MusicTheory.ChordQuality.Dom, false));
+    qualities.add(new Entry("sus", MusicTheory.ChordQuality.Sus4, false));
+    qualities.add(new Entry("sus4", MusicTheory.ChordQuality.Sus4, false));
+    qualities.add(new Entry("sus2", MusicTheory.ChordQuality.Sus2, false));
+
+    // Note: Major extensions stack on the major seventh
+    for (Entry major : new ArrayList<Entry>(qualities)) {
+      if (major.Quality != MusicTheory.ChordQuality.Maj) {
+        continue;
+      }
+
+      qualities.add(new Entry(major.Notation + "9", major.Quality, major.CaseSensitive, 7, 0, 9, 0));
+      qualities.add(new Entry(major.Notation + "11", major.Quality, major.CaseSensitive, 7, 0, 9, 0, 11, 0));
+      qualities.add(new Entry(major.Notation + "13", major.Quality, major.CaseSensitive, 7, 0, 9, 0, 13, 0));
+    }
+
+    List<Entry> suffixes = new ArrayList<Entry>();
+    suffixes.add(new Entry("add9", null, false, 9, 0));
+    suffixes.add(new Entry("add11", null, false, 11, 0));
+    suffixes.add(new Entry("add13", null, false, 13, 0));
+    suffixes.add(new Entry("alt", null, false, 5, -1, 9, 1, 13, -1));
+
+    qualityNotations = ChordVocabulary.sortLongestFirst(qualities);
+    suffixNotations = ChordVocabulary.sortLongestFirst(suffixes);
+  }
+
+  /**
+   * Returns the quality notation written as text, or null.
+   */
+  public static Entry findQuality(String text) {
+    return ChordVocabulary.find(qualityNotations, text);
+  }
+
+  /**
+   * Returns the suffix notation written as text, or null.
+   */
+  public static Entry findSuffix(String text) {
+    return ChordVocabulary.find(suffixNotations, text);
+  }
+
+  /**
+   * Returns a regex alternation of the entries' notations, longest first.
+   */
+  static String getRegex(List<Entry> entries) {
+    StringBuilder sb = new StringBuilder();
+    String prefix = "";
+
+    for (Entry entry : entries) {
+      sb.append(prefix);
+      sb.append(entry.CaseSensitive ? "(?-i:" : "(?i:");
+      sb.append("\\Q").append(entry.Notation).append("\\E)");
+      prefix = "|";
+    }
+
+    return sb.toString();
+  }
+
+  private static Entry find(List<Entry> entries, String text) {
+    if (text == null) {
+      return null;
+    }
+
+    for (Entry entry : entries) {
+      if (entry.matches(text)) {
+        return entry;
+      }
+    }
+
+    return null;
+  }
+
+  private static List<Entry> sortLongestFirst(List<Entry> entries) {
+    // Note: The sort is stable, so equally long notations keep table order
+    Collections.sort(entries, new Comparator<Entry>() {
+
+      public int compare(Entry a, Entry b) {
+        return b.Notation.length() - a.Notation.length();
+      }
+    });
+
+    return Collections.unmodifiableList(entries);
+  }
+}
@@ -0,0 +1,106 @@
+package chordbuddy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregated counts over a corpus of newline-separated chord symbols.
+ * Summaries of separate chunks are combined with merge, so chunks can be
+ * analysed independently and in any order.
+ *
+ * @author Ryan
+ */
+public class CorpusSummary {
+
+  private long lineCount;
+  private long symbolCount;
+  private long invalidCount;
+  private final long[] qualityCounts;
+  private final Map<SpelledNote, long[]> tonicCounts;
+
+  public CorpusSummary() {
+    this.qualityCounts = new long[MusicTheory.ChordQuality.values().length];
+    this.tonicCounts = new HashMap<SpelledNote, long[]>();
+  }
+
+  void addBlankLine() {
+    this.lineCount++;
+  }
+
+  void addInvalid() {
+    this.lineCount++;
+    this.symbolCount++;
+    this.invalidCount++;
+  }
+
+  void addChord(Chord chord) {
+    this.lineCount++;
+    this.symbolCount++;
+    this.qualityCounts[chord.getQuality().ordinal()]++;
+
+    SpelledNote tonic = chord.getSpelledTonic();
+    long[] count = this.tonicCounts.get(tonic);
+    if (count == null) {
+      count = new long[1];
+      this.tonicCounts.put(tonic, count);
+    }
+    count[0]++;
+  }
+
+  public void merge(CorpusSummary other) {
+    this.lineCount += other.lineCount;
+    this.symbolCount += other.symbolCount;
+    this.invalidCount += other.invalidCount;
+
+    for (int i = 0; i < this.qualityCounts.length; i++) {
+      this.qualityCounts[i] += other.qualityCounts[i];
+    }
+
+    for (Map.Entry<SpelledNote, long[]> entry : other.tonicCounts.entrySet()) {
+      long[] count = this.tonicCounts.get(entry.getKey());
+      if (count == null) {
+        this.tonicCounts.put(entry.getKey(), new long[]{entry.getValue()[0]});
+      } else {
+        count[0] += entry.getValue()[0];
+      }
+    }
+  }
+
+  /**
+   * All lines read, blank ones included.
+   */
+  public long getLineCount() {
+    return this.lineCount;
+  }
+
+  /**
+   * Non-blank lines, valid or not.
+   */
+  public long getSymbolCount() {
+    return this.symbolCount;
+  }
+
+  public long getInvalidCount() {
+    return this.invalidCount;
+  }
+
+  public long getQualityCount(MusicTheory.ChordQuality quality) {
+    return this.qualityCounts[quality.ordinal()];
+  }
+
+  public long getTonicCount(SpelledNote tonic) {
+    long[] count = this.tonicCounts.get(tonic);
+    return count != null ? count[0] : 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("lines=%d symbols=%d invalid=%d", this.lineCount, this.symbolCount, this.invalidCount));
+    for (MusicTheory.ChordQuality quality : MusicTheory.ChordQuality.values()) {
+      sb.append(String.format(" %s=%d", quality, this.qualityCounts[quality.ordinal()]));
+    }
+
+    return sb.toString();
+  }
+}
@@ -0,0 +1,196 @@
+package chordbuddy;
+
+/**
+ * A distance between two spelled notes: how many letters it spans (Steps)
+ * and how many semitones (Semitones). A major third is (2, 4), a diminished
+ * fourth (3, 4); both are negative for descending intervals.
+ *
+ * Keeping the letter distance is what lets transposition spell its results
+ * correctly, e.g. C up a minor third is Eb, never D#.
+ *
+ * @author Ryan
+ */
+public class Interval {
+
+  public static final Interval UNISON = new Interval(0, 0);
+
+  // Note: Semitones above the tonic of each degree of the major scale
+  private static final int[] majorSemitones = {0, 2, 4, 5, 7, 9, 11};
+  private static final boolean[] perfectDegrees = {true, false, false, true, true, false, false};
+
+  public final int Steps;
+  public final int Semitones;
+
+  public Interval(int steps, int semitones) {
+    this.Steps = steps;
+    this.Semitones = semitones;
+  }
+
+  /**
+   * Creates an interval from its name: an optional "-" for descending, the
+   * quality (P, M, m, A or d) and the number, e.g. "m3", "P5", "-A4", "M9".
+   * Returns null if the name is not a valid interval.
+   */
+  public static Interval create(String name) {
+    if (name == null) {
+      return null;
+    }
+
+    name = Utilities.removeWhitespace(name);
+    boolean descending = name.startsWith("-");
+    if (descending) {
+      name = name.substring(1);
+    }
+    if (name.length() < 2) {
+      return null;
+    }
+
+    int number;
+    try {
+      number = Integer.parseInt(name.substring(1));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    if (number < 1) {
+      return null;
+    }
+
+    int steps = number - 1;
+    boolean perfect = perfectDegrees[steps % 7];
+    int offset;
+    switch (name.charAt(0)) {
+      case 'P':
+        if (!perfect) {
+          return null;
+        }
+        offset = 0;
+        break;
+      case 'M':
+        if (perfect) {
+          return null;
+        }
+        offset = 0;
+        break;
+      case 'm':
+        if (perfect) {
+          return null;
+        }
+        offset = -1;
+        break;
+      case 'A':
+        offset = 1;
+        break;
+      case 'd':
+        offset = perfect ? -1 : -2;
+        break;
+      default:
+        return null;
+    }
+
+    int semitones = 12 * (steps / 7) + majorSemitones[steps % 7] + offset;
+    return descending ? new Interval(-steps, -semitones) : new Interval(steps, semitones);
+  }
+
+  /**
+   * Returns the ascending interval, less than an octave in letters, from one
+   * note up to the next occurrence of another, e.g. C to Eb is a minor third
+   * and E to C is a minor sixth.
+   */
+  public static Interval between(SpelledNote from, SpelledNote to) {
+    if (from == null || to == null) {
+      return null;
+    }
+
+    int letters = MusicTheory.NoteName.values().length;
+    int steps = (to.getLetter().ordinal() - from.getLetter().ordinal() + letters) % letters;
+    int naturals = SpelledNote.pitchClassOf(SpelledNote.pack(to.getLetter().ordinal(), 0)) -
+            SpelledNote.pitchClassOf(SpelledNote.pack(from.getLetter().ordinal(), 0));
+    if (naturals < 0) {
+      naturals += 12;
+    }
+
+    return new Interval(steps, naturals + to.getQuality() - from.getQuality());
+  }
+
+  /**
+   * Returns the code of the note this interval away from the given packed
+   * SpelledNote code.
+   *
+   * The result's letter is always Steps letters away; its accidentals come
+   * from the major scale of the starting note (i.e. its key signature),
+   * adjusted by how far the interval is from major or perfect.
+   */
+  public int transpose(int code) {
+    int steps = this.Steps;
+    int semitones = this.Semitones;
+
+    // Note: Whole octaves change neither the letter nor the pitch class, so
+    //       a descending interval is applied as the ascending one an octave
+    //       or more above it
+    if (steps < 0) {
+      int octaves = (-steps + 6) / 7;
+      steps += 7 * octaves;
+      semitones += 12 * octaves;
+    }
+
+    int degree = steps % 7;
+    int alteration = semitones - 12 * (steps / 7) - majorSemitones[degree];
+
+    return SpelledNote.alter(MusicTheory.getMajorScaleCodes(code)[degree], alteration);
+  }
+
+  public Interval negate() {
+    return new Interval(-this.Steps, -this.Semitones);
+  }
+
+  /**
+   * Returns the interval's name, e.g. "m3" or "-P5", or null if it is more
+   * than doubly augmented or diminished.
+   */
+  public String getName() {
+    boolean descending = this.Steps < 0 || (this.Steps == 0 && this.Semitones < 0);
+    int steps = Math.abs(this.Steps);
+    int semitones = descending ? -this.Semitones : this.Semitones;
+    int offset = semitones - 12 * (steps / 7) - majorSemitones[steps % 7];
+    boolean perfect = perfectDegrees[steps % 7];
+
+    String quality;
+    if (offset == 0) {
+      quality = perfect ? "P" : "M";
+    } else if (offset == -1) {
+      quality = perfect ? "d" : "m";
+    } else if (offset == 1) {
+      quality = "A";
+    } else if (offset == -2 && !perfect) {
+      quality = "d";
+    } else {
+      return null;
+    }
+
+    return (descending ? "-" : "") + quality + (steps + 1);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    } else if (!(other instanceof Interval)) {
+      return false;
+    }
+
+    Interval otherInterval = (Interval) other;
+    return this.Steps == otherInterval.Steps &&
+            this.Semitones == otherInterval.Semitones;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.Steps * 31 + this.Semitones;
+  }
+
+  @Override
+  public String toString() {
+    String name = this.getName();
+    return name != null ? name : String.format("(%d, %d)", this.Steps, this.Semitones);
+  }
+}
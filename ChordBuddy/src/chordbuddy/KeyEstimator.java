@@ -0,0 +1,285 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estimates the key of a chord progression as it is played, from the
+ * pitch classes of its most recent chords.
+ *
+ * Each of the 24 major and minor keys is scored with the Krumhansl-Schmuckler
+ * algorithm: every pitch class of every chord in the window adds that pitch
+ * class's weight in the key, where the weights are the Krumhansl-Kessler
+ * profile normalized to a mean of zero and a standard deviation of one. The
+ * sum is then proportional to the correlation between the window and the
+ * profile, so keys are not favored for carrying more weight overall, and it
+ * stays additive. Tensions above the seventh (e.g. the 9 of "Cmaj9") only
+ * count half, since they color a chord rather than define its harmony, and
+ * a chord's root counts a third more than its other tones, so that e.g.
+ * "Cmaj7" leans toward C rather than toward E minor.
+ *
+ * A chord's weight in a key is a sum of lookups in tables precomputed per
+ * key (one for each half of a set of pitch class bits), so adding a chord,
+ * letting the oldest one fall out of the window and finding the best key
+ * each cost O(keys), however long the progression or the window.
+ *
+ * An estimator is not safe for use by several threads at once.
+ *
+ * @author Ryan
+ */
+public class KeyEstimator {
+
+  /**
+   * A key that can be estimated. The 24 keys are shared and immutable.
+   */
+  public static class Estimate {
+
+    public final SpelledNote Tonic;
+    public final MusicTheory.ScaleFamily Mode;
+
+    Estimate(SpelledNote tonic, MusicTheory.ScaleFamily mode) {
+      this.Tonic = tonic;
+      this.Mode = mode;
+    }
+
+    /**
+     * Returns the key's scale, see MusicTheory.spellScale.
+     */
+    public List<SpelledNote> getScale() {
+      return MusicTheory.spellScale(this.Mode, this.Tonic);
+    }
+
+    @Override
+    public String toString() {
+      return this.Tonic.getFullName() + (this.Mode == MusicTheory.ScaleFamily.Major ? " major" : " minor");
+    }
+  }
+
+  /**
+   * Every key, majors first, each mode ascending from C.
+   */
+  public static final List<Estimate> keys;
+
+  // Note: Krumhansl-Kessler probe-tone ratings, scaled by 100, from the
+  //       tonic upwards
+  private static final int[] majorProfile = {635, 223, 348, 233, 438, 409, 252, 519, 239, 366, 229, 288};
+  private static final int[] minorProfile = {633, 268, 352, 538, 260, 353, 254, 475, 398, 269, 334, 317};
+  // Note: Normalized weights are kept as integers scaled by this, so that
+  //       adding and removing chords never drifts
+  private static final int weightScale = 1000;
+  // Note: How much a chord tone, a tension and, on top of its weight as a
+  //       chord tone, a root count
+  private static final int toneWeight = 6;
+  private static final int tensionWeight = 3;
+  private static final int rootWeight = 2;
+  private static final String[] majorTonics = {"C", "Db", "D", "Eb", "E", "F", "F#", "G", "Ab", "A", "Bb", "B"};
+  private static final String[] minorTonics = {"C", "C#", "D", "Eb", "E", "F", "F#", "G", "G#", "A", "Bb", "B"};
+
+  private static final int halfBits = PitchClassSet.PITCH_CLASSES / 2;
+  private static final int halfMask = (1 << halfBits) - 1;
+  private static final int[][] lowWeights;
+  private static final int[][] highWeights;
+
+  // Note: The pitch class bits of each chord's tones up to the seventh, of
+  //       its tensions and of its root
+  private final int[] window;
+  private final int[] tensionWindow;
+  private final int[] rootWindow;
+  private int windowStart;
+  private int windowCount;
+  private final int[] scores;
+  private int best;
+  private final int[] codes;
+
+  static {
+    List<Estimate> estimates = new ArrayList<Estimate>();
+    List<int[]> profiles = new ArrayList<int[]>();
+    int[] major = KeyEstimator.normalize(majorProfile);
+    int[] minor = KeyEstimator.normalize(minorProfile);
+    for (int tonic = 0; tonic < PitchClassSet.PITCH_CLASSES; tonic++) {
+      estimates.add(new Estimate(Note.create(majorTonics[tonic]).toSpelledNote(), MusicTheory.ScaleFamily.Major));
+      profiles.add(major);
+    }
+    for (int tonic = 0; tonic < PitchClassSet.PITCH_CLASSES; tonic++) {
+      estimates.add(new Estimate(Note.create(minorTonics[tonic]).toSpelledNote(), MusicTheory.ScaleFamily.NaturalMinor));
+      profiles.add(minor);
+    }
+    keys = Collections.unmodifiableList(estimates);
+
+    // Note: A chord's weight in a key depends only on its pitch class bits,
+    //       so the weights of every 6 bit half are summed up front
+    lowWeights = new int[keys.size()][1 << halfBits];
+    highWeights = new int[keys.size()][1 << halfBits];
+    for (int k = 0; k < keys.size(); k++) {
+      int tonic = keys.get(k).Tonic.getPitchClass();
+      int[] profile = profiles.get(k);
+
+      for (int half = 0; half <= halfMask; half++) {
+        for (int i = 0; i < halfBits; i++) {
+          if ((half & (1 << i)) == 0) {
+            continue;
+          }
+
+          int low = i;
+          int high = i + halfBits;
+          lowWeights[k][half] += profile[(low - tonic + PitchClassSet.PITCH_CLASSES) % PitchClassSet.PITCH_CLASSES];
+          highWeights[k][half] += profile[(high - tonic + PitchClassSet.PITCH_CLASSES) % PitchClassSet.PITCH_CLASSES];
+        }
+      }
+    }
+  }
+
+  /**
+   * @param windowSize the number of most recent chords the estimate is based
+   *                   on
+   */
+  public KeyEstimator(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("The window must hold at least one chord");
+    }
+
+    this.window = new int[windowSize];
+    this.tensionWindow = new int[windowSize];
+    this.rootWindow = new int[windowSize];
+    this.scores = new int[keys.size()];
+    this.codes = new int[Chord.MAX_NOTES];
+  }
+
+  /**
+   * Adds the next chord of the progression, dropping the oldest one once the
+   * window is full.
+   */
+  public void add(Chord chord) {
+    if (chord == null) {
+      throw new IllegalArgumentException("The chord must not be null");
+    }
+
+    int count = chord.spellTensionsInto(this.codes);
+    int tensions = PitchClassSet.bitsOf(this.codes, count);
+    count = chord.spellInto(this.codes);
+    int bits = PitchClassSet.bitsOf(this.codes, count);
+
+    int root = 1 << chord.getSpelledTonic().getPitchClass();
+
+    // Note: A tension that doubles a lower tone counts in full
+    this.add(bits & ~tensions, tensions, root);
+  }
+
+  /**
+   * Adds the next chord of the progression as the bits of its pitch class
+   * set, see PitchClassSet.getBits. Every pitch class counts as a chord
+   * tone, and none as the root.
+   */
+  public void add(int bits) {
+    this.add(bits & PitchClassSet.ALL_BITS, 0, 0);
+  }
+
+  private void add(int bits, int tensions, int root) {
+    if (this.windowCount == this.window.length) {
+      this.apply(this.window[this.windowStart], this.tensionWindow[this.windowStart], this.rootWindow[this.windowStart], -1);
+      this.window[this.windowStart] = bits;
+      this.tensionWindow[this.windowStart] = tensions;
+      this.rootWindow[this.windowStart] = root;
+      this.windowStart = (this.windowStart + 1) % this.window.length;
+    } else {
+      int slot = (this.windowStart + this.windowCount) % this.window.length;
+      this.window[slot] = bits;
+      this.tensionWindow[slot] = tensions;
+      this.rootWindow[slot] = root;
+      this.windowCount++;
+    }
+
+    this.apply(bits, tensions, root, 1);
+
+    // Note: Ties go to the first key, so majors win over their relative minors
+    this.best = 0;
+    for (int k = 1; k < this.scores.length; k++) {
+      if (this.scores[k] > this.scores[this.best]) {
+        this.best = k;
+      }
+    }
+  }
+
+  /**
+   * Forgets every chord added so far.
+   */
+  public void clear() {
+    this.windowStart = 0;
+    this.windowCount = 0;
+    this.best = 0;
+    for (int k = 0; k < this.scores.length; k++) {
+      this.scores[k] = 0;
+    }
+  }
+
+  /**
+   * Returns the number of chords the estimate is currently based on.
+   */
+  public int size() {
+    return this.windowCount;
+  }
+
+  public int getWindowSize() {
+    return this.window.length;
+  }
+
+  /**
+   * Returns the most likely key of the chords in the window, or null if
+   * there are none.
+   */
+  public Estimate getEstimate() {
+    return this.windowCount == 0 ? null : keys.get(this.best);
+  }
+
+  /**
+   * Returns the score of a key over the chords in the window. Scores are
+   * only comparable between keys of the same window.
+   */
+  public int getScore(Estimate key) {
+    int k = keys.indexOf(key);
+    if (k < 0) {
+      throw new IllegalArgumentException("Unknown key: " + key);
+    }
+
+    return this.scores[k];
+  }
+
+  /**
+   * Returns (profile - mean) / standardDeviation for each weight, scaled by
+   * weightScale and rounded.
+   */
+  private static int[] normalize(int[] profile) {
+    double mean = 0;
+    for (int weight : profile) {
+      mean += weight;
+    }
+    mean /= profile.length;
+
+    double variance = 0;
+    for (int weight : profile) {
+      variance += (weight - mean) * (weight - mean);
+    }
+    double deviation = Math.sqrt(variance / profile.length);
+
+    int[] normalized = new int[profile.length];
+    for (int i = 0; i < profile.length; i++) {
+      normalized[i] = (int) Math.round(weightScale * (profile[i] - mean) / deviation);
+    }
+
+    return normalized;
+  }
+
+  private void apply(int bits, int tensions, int root, int sign) {
+    for (int k = 0; k < this.scores.length; k++) {
+      int weight = toneWeight * KeyEstimator.getWeight(k, bits)
+              + tensionWeight * KeyEstimator.getWeight(k, tensions)
+              + rootWeight * KeyEstimator.getWeight(k, root);
+      this.scores[k] += sign * weight;
+    }
+  }
+
+  private static int getWeight(int k, int bits) {
+    return lowWeights[k][bits & halfMask] + highWeights[k][bits >>> halfBits];
+  }
+}
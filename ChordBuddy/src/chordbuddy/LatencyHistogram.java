@@ -0,0 +1,133 @@
+package chordbuddy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ *
+ * Values are counted in log-linear buckets: every power of two is split into
+ * 16 equal sub-buckets, so any reported value is within about 6% of the true
+ * one while the whole range of a long fits in under a thousand counters.
+ * Recording is a handful of atomic increments and never blocks, so it is safe
+ * to call from any number of threads on a hot path.
+ *
+ * @author Ryan
+ */
+public class LatencyHistogram {
+
+  private static final int subBucketBits = 4;
+  private static final int subBucketCount = 1 << subBucketBits;
+  private static final int bucketCount = subBucketCount + (63 - subBucketBits) * subBucketCount;
+
+  private final AtomicLongArray counts;
+  private final AtomicLong totalCount;
+  private final AtomicLong totalNanos;
+  private final AtomicLong maxNanos;
+
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(bucketCount);
+    this.totalCount = new AtomicLong();
+    this.totalNanos = new AtomicLong();
+    this.maxNanos = new AtomicLong();
+  }
+
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+
+    this.counts.incrementAndGet(LatencyHistogram.bucketOf(nanos));
+    this.totalCount.incrementAndGet();
+    this.totalNanos.addAndGet(nanos);
+
+    long max = this.maxNanos.get();
+    while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+      max = this.maxNanos.get();
+    }
+  }
+
+  public long getCount() {
+    return this.totalCount.get();
+  }
+
+  public long getMaxNanos() {
+    return this.maxNanos.get();
+  }
+
+  public double getMeanNanos() {
+    long count = this.totalCount.get();
+    return count == 0 ? 0 : (double) this.totalNanos.get() / count;
+  }
+
+  /**
+   * Returns an upper bound for the given percentile (0 to 100) of the
+   * recorded values, or 0 if nothing has been recorded.
+   */
+  public long getPercentileNanos(double percentile) {
+    long count = this.totalCount.get();
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+    if (rank < 1) {
+      rank = 1;
+    }
+
+    long seen = 0;
+    for (int i = 0; i < bucketCount; i++) {
+      seen += this.counts.get(i);
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.bucketUpperBound(i), this.maxNanos.get());
+      }
+    }
+
+    return this.maxNanos.get();
+  }
+
+  public void reset() {
+    for (int i = 0; i < bucketCount; i++) {
+      this.counts.set(i, 0);
+    }
+
+    this.totalCount.set(0);
+    this.totalNanos.set(0);
+    this.maxNanos.set(0);
+  }
+
+  static int bucketOf(long value) {
+    if (value < subBucketCount) {
+      return (int) value;
+    }
+
+    int octave = 63 - Long.numberOfLeadingZeros(value) - subBucketBits;
+    int subBucket = (int) (value >>> octave) - subBucketCount;
+
+    return subBucketCount + octave * subBucketCount + subBucket;
+  }
+
+  static long bucketUpperBound(int bucket) {
+    if (bucket < subBucketCount) {
+      return bucket;
+    }
+
+    int octave = (bucket - subBucketCount) / subBucketCount;
+    int subBucket = (bucket - subBucketCount) % subBucketCount;
+    long lower = (long) (subBucketCount + subBucket) << octave;
+
+    return lower + (1L << octave) - 1;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+            this.getCount(),
+            this.getMeanNanos() / 1000.0,
+            this.getPercentileNanos(50) / 1000.0,
+            this.getPercentileNanos(90) / 1000.0,
+            this.getPercentileNanos(99) / 1000.0,
+            this.getPercentileNanos(99.9) / 1000.0,
+            this.getMaxNanos() / 1000.0);
+  }
+}
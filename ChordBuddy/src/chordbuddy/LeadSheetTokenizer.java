@@ -0,0 +1,226 @@
+package chordbuddy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental scanner that picks the chord symbols out of a lead sheet, where
+ * they are mixed with lyrics, section labels and bar lines.
+ *
+ * The text is split into words at whitespace, bar lines and brackets, and
+ * trailing punctuation is trimmed from each word. A word is reported when
+ * the whole of it is a valid chord symbol, so "A-7" is found in "|A-7 D7|"
+ * but nothing is found in "Cat" or "N.C.". Words starting with a lowercase
+ * letter are skipped unless asked for, since lyrics such as "a" or "bb" would
+ * otherwise read as minor chords.
+ *
+ * A parenthesis glued to the end of a word opens a group that belongs to
+ * the word, and the word is read without its parentheses: "C7(b9)" and
+ * "G7(b9)(#11)" are found as C7b9 and G7b9#11, while "(Cmaj7)" is still
+ * found as Cmaj7. A word is never cut short at its group, so nothing is
+ * found in "C7(x)".
+ *
+ * Characters are pulled through a fixed buffer and a word is only kept while
+ * it is short enough to be a symbol, so memory stays bounded whatever the
+ * size of the document or the length of its lines.
+ *
+ * @author Ryan
+ */
+public class LeadSheetTokenizer implements Closeable {
+
+  /**
+   * Longer words are never reported.
+   */
+  public static final int MAX_SYMBOL_LENGTH = 64;
+
+  private static final int bufferSize = 4096;
+  private static final String delimiters = "|[](){}<>\",;";
+  private static final String trailingPunctuation = ".:!?'";
+  private static final char groupStart = '(';
+  private static final char groupEnd = ')';
+
+  private final Reader in;
+  private final boolean lowercaseTonics;
+  private final char[] buffer;
+  private int bufferPosition;
+  private int bufferLength;
+
+  private final char[] word;
+  private int wordLength;
+  private boolean wordOverflow;
+  private boolean wordGrouped;
+  private boolean wordGroupOpen;
+  private int wordGroupStart;
+  private final char[] symbol;
+  private long wordOffset;
+  private long wordLine;
+  private int wordColumn;
+
+  private long offset;
+  private long line;
+  private int column;
+
+  public LeadSheetTokenizer(Reader in) {
+    this(in, false);
+  }
+
+  /**
+   * @param in              the text to scan
+   * @param lowercaseTonics whether words such as "a-7" are reported
+   */
+  public LeadSheetTokenizer(Reader in, boolean lowercaseTonics) {
+    this.in = in;
+    this.lowercaseTonics = lowercaseTonics;
+    this.buffer = new char[bufferSize];
+    this.word = new char[MAX_SYMBOL_LENGTH];
+    this.symbol = new char[MAX_SYMBOL_LENGTH];
+    this.line = 1;
+    this.column = 1;
+  }
+
+  /**
+   * Returns every chord symbol in text.
+   */
+  public static List<ChordToken> tokenize(String text) {
+    LeadSheetTokenizer tokenizer = new LeadSheetTokenizer(new StringReader(text));
+    List<ChordToken> tokens = new ArrayList<ChordToken>();
+
+    try {
+      ChordToken token;
+      while ((token = tokenizer.next()) != null) {
+        tokens.add(token);
+      }
+    } catch (IOException e) {
+      // Note: A StringReader never fails
+      throw new IllegalStateException(e.toString());
+    }
+
+    return tokens;
+  }
+
+  /**
+   * Returns the next chord symbol, or null at the end of the text.
+   */
+  public ChordToken next() throws IOException {
+    while (true) {
+      if (this.bufferPosition >= this.bufferLength && !this.fill()) {
+        return this.wordLength > 0 ? this.endWord() : null;
+      }
+
+      char c = this.buffer[this.bufferPosition++];
+
+      if (c == groupStart && this.wordLength > 0 && !this.wordGroupOpen) {
+        if (!this.wordGrouped) {
+          this.wordGroupStart = this.wordLength;
+        }
+        this.wordGrouped = true;
+        this.wordGroupOpen = true;
+      } else if (c == groupEnd && this.wordGroupOpen) {
+        this.wordGroupOpen = false;
+      } else if (Utilities.isWhitespace(c) || delimiters.indexOf(c) >= 0) {
+        this.advance(c);
+        if (this.wordLength > 0) {
+          ChordToken token = this.endWord();
+          if (token != null) {
+            return token;
+          }
+        }
+        continue;
+      }
+
+      if (this.wordLength == 0) {
+        this.wordOffset = this.offset;
+        this.wordLine = this.line;
+        this.wordColumn = this.column;
+      }
+      if (this.wordLength < this.word.length) {
+        this.word[this.wordLength] = c;
+      } else {
+        this.wordOverflow = true;
+      }
+      this.wordLength++;
+      this.advance(c);
+    }
+  }
+
+  public void close() throws IOException {
+    this.in.close();
+  }
+
+  private boolean fill() throws IOException {
+    int read;
+    do {
+      read = this.in.read(this.buffer, 0, this.buffer.length);
+    } while (read == 0);
+
+    this.bufferPosition = 0;
+    this.bufferLength = Math.max(read, 0);
+
+    return read > 0;
+  }
+
+  private void advance(char c) {
+    this.offset++;
+    if (c == '\n') {
+      this.line++;
+      this.column = 1;
+    } else {
+      this.column++;
+    }
+  }
+
+  /**
+   * Finishes the current word, returning it as a token if it is a chord
+   * symbol.
+   */
+  private ChordToken endWord() {
+    int length = this.wordLength;
+    boolean overflow = this.wordOverflow;
+    boolean grouped = this.wordGrouped;
+    boolean groupOpen = this.wordGroupOpen;
+    this.wordLength = 0;
+    this.wordOverflow = false;
+    this.wordGrouped = false;
+    this.wordGroupOpen = false;
+
+    if (overflow || groupOpen) {
+      return null;
+    }
+    while (length > 0 && trailingPunctuation.indexOf(this.word[length - 1]) >= 0) {
+      length--;
+    }
+    if (length == 0 || (!this.lowercaseTonics && Character.isLowerCase(this.word[0]))) {
+      return null;
+    }
+
+    Chord chord;
+    if (grouped) {
+      // Note: Parentheses only get into a word as its groups'
+      int symbolLength = 0;
+      for (int i = 0; i < length; i++) {
+        if (this.word[i] != groupStart && this.word[i] != groupEnd) {
+          this.symbol[symbolLength++] = this.word[i];
+        }
+      }
+      chord = Chord.create(this.symbol, 0, symbolLength);
+
+      // Note: The word ahead of its groups must be a chord of its own, and a
+      //       group must not lend its accidentals to the tonic ("F(#5)")
+      Chord ungrouped = Chord.create(this.word, 0, Math.min(this.wordGroupStart, length));
+      if (chord != null && (ungrouped == null || !ungrouped.getSpelledTonic().equals(chord.getSpelledTonic()))) {
+        chord = null;
+      }
+    } else {
+      chord = Chord.create(this.word, 0, length);
+    }
+    if (chord == null) {
+      return null;
+    }
+
+    return new ChordToken(new String(this.word, 0, length), chord, this.wordOffset, this.wordLine, this.wordColumn);
+  }
+}
@@ -1,8 +1,17 @@
 package chordbuddy;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  *
@@ -10,6 +19,9 @@ import java.io.InputStreamReader;
  */
 public class Main {
 
+  private static final int batchBufferSize = 1 << 16;
+  private static final String batchCharset = "UTF-8";
+
   /**
    * @param args the command line arguments
    */
@@ -39,6 +51,135 @@ public class Main {
       } catch (IOException e) {
         System.err.println("An error occurred while reading symbol input: " + e.getMessage());
       }
+    } else if (args[0].equals("--batch")) {
+      System.exit(Main.runBatch(args));
+    } else if (args[0].equals("--serve")) {
+      int status = Main.runServer(args);
+      if (status != 0) {
+        System.exit(status);
+      }
+    } else {
+      Main.printUsage();
+      System.exit(2);
+    }
+  }
+
+  /**
+   * Usage: --batch [--format=tsv|jsonl] [input|- [output|-]]
+   */
+  private static int runBatch(String[] args) {
+    ChordBatch.Format format = ChordBatch.Format.Tsv;
+    String input = "-";
+    String output = "-";
+    int positional = 0;
+
+    for (int i = 1; i < args.length; i++) {
+      if (args[i].startsWith("--format=")) {
+        format = ChordBatch.parseFormat(args[i].substring("--format=".length()));
+        if (format == null) {
+          System.err.println("Unknown output format: " + args[i]);
+          return 2;
+        }
+      } else if (positional == 0) {
+        input = args[i];
+        positional++;
+      } else if (positional == 1) {
+        output = args[i];
+        positional++;
+      } else {
+        Main.printUsage();
+        return 2;
+      }
+    }
+
+    BufferedReader in = null;
+    Writer out = null;
+    ChordBatch batch = new ChordBatch(format);
+
+    try {
+      in = new BufferedReader(new InputStreamReader(
+              input.equals("-") ? System.in : new FileInputStream(input), batchCharset), batchBufferSize);
+      out = new BufferedWriter(new OutputStreamWriter(
+              output.equals("-") ? System.out : new FileOutputStream(output), batchCharset), batchBufferSize);
+
+      batch.run(in, out);
+    } catch (IOException e) {
+      System.err.println("An error occurred while processing symbols: " + e.getMessage());
+      return 1;
+    } finally {
+      Main.closeQuietly(in);
+      Main.closeQuietly(out);
+    }
+
+    System.err.println(String.format("Processed %d symbols, %d invalid", batch.getProcessedCount(), batch.getErrorCount()));
+    return 0;
+  }
+
+  /**
+   * Usage: --serve [--port=N] [--threads=N | --virtual-threads]
+   */
+  private static int runServer(String[] args) {
+    int port = 8080;
+    int threads = Runtime.getRuntime().availableProcessors();
+    boolean virtualThreads = false;
+
+    try {
+      for (int i = 1; i < args.length; i++) {
+        if (args[i].startsWith("--port=")) {
+          port = Integer.parseInt(args[i].substring("--port=".length()));
+        } else if (args[i].startsWith("--threads=")) {
+          threads = Integer.parseInt(args[i].substring("--threads=".length()));
+        } else if (args[i].equals("--virtual-threads")) {
+          virtualThreads = true;
+        } else {
+          Main.printUsage();
+          return 2;
+        }
+      }
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid number: " + e.getMessage());
+      return 2;
+    }
+
+    ExecutorService executor;
+    if (virtualThreads) {
+      executor = ChordServer.createVirtualThreadExecutor();
+      if (executor == null) {
+        System.err.println("Virtual threads are not supported by this JVM");
+        return 2;
+      }
+    } else {
+      executor = Executors.newFixedThreadPool(threads);
+    }
+
+    try {
+      ChordServer server = new ChordServer(new InetSocketAddress(port), executor);
+      server.start();
+      System.err.println(String.format("ChordBuddy is listening on port %d", server.getPort()));
+    } catch (IOException e) {
+      System.err.println("An error occurred while starting the server: " + e.getMessage());
+      executor.shutdown();
+      return 1;
+    }
+
+    return 0;
+  }
+
+  private static void printUsage() {
+    System.err.println("Usage: ChordBuddy                    (interactive)");
+    System.err.println("       ChordBuddy --batch [--format=tsv|jsonl] [input|- [output|-]]");
+    System.err.println("       ChordBuddy --serve [--port=N] [--threads=N | --virtual-threads]");
+  }
+
+  private static void closeQuietly(Closeable c) {
+    if (c == null) {
+      return;
+    }
+
+    try {
+      c.close();
+    } catch (IOException e) {
+      System.err.println("An error occurred while closing a stream: " + e.getMessage());
     }
   }
 }
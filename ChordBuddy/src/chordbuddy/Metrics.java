@@ -0,0 +1,136 @@
+package chordbuddy;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Opt-in timing of the library's public entry points.
+ *
+ * Instrumentation is off by default and can be switched on with
+ * setEnabled(true) or the system property chordbuddy.metrics=true. While it
+ * is off an instrumented call costs a single volatile read; while it is on,
+ * two System.nanoTime() calls and a few lock-free atomic increments.
+ *
+ * Usage inside the library:
+ *   long start = Metrics.start();
+ *   ...
+ *   Metrics.stop(Metrics.Operation.ChordCreate, start, result == null);
+ *
+ * @author Ryan
+ */
+public final class Metrics {
+
+  public static final String ENABLED_PROPERTY = "chordbuddy.metrics";
+  public static final String JMX_DOMAIN = "chordbuddy";
+
+  public static enum Operation {
+
+    ChordCreate,
+    ChordSymbolTonic,
+    ChordSymbolQuality,
+    ChordSymbolModifiers,
+    ChordNotes,
+    NoteCreate,
+    MajorScale,
+  }
+
+  // Note: Returned by start() while disabled so stop() can skip the call
+  private static final long notTimed = Long.MIN_VALUE;
+  private static final OperationMetrics[] operations;
+  private static volatile boolean enabled;
+
+  static {
+    Operation[] values = Operation.values();
+    operations = new OperationMetrics[values.length];
+    for (int i = 0; i < values.length; i++) {
+      operations[i] = new OperationMetrics(values[i]);
+    }
+
+    enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+  }
+
+  private Metrics() {
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean value) {
+    enabled = value;
+  }
+
+  public static OperationMetrics get(Operation operation) {
+    return operations[operation.ordinal()];
+  }
+
+  public static void reset() {
+    for (OperationMetrics m : operations) {
+      m.reset();
+    }
+  }
+
+  static long start() {
+    return enabled ? System.nanoTime() : notTimed;
+  }
+
+  static void stop(Operation operation, long start, boolean error) {
+    if (start != notTimed) {
+      operations[operation.ordinal()].record(System.nanoTime() - start, error);
+    }
+  }
+
+  /**
+   * Writes one line per operation: its name, error count and latency
+   * summary.
+   */
+  public static void dump(Appendable out) throws IOException {
+    for (OperationMetrics m : operations) {
+      out.append(m.toString()).append('\n');
+    }
+  }
+
+  public static String dump() {
+    StringBuilder sb = new StringBuilder();
+    try {
+      Metrics.dump(sb);
+    } catch (IOException e) {
+      // Note: StringBuilder never throws
+    }
+
+    return sb.toString();
+  }
+
+  public static ObjectName getObjectName(Operation operation) throws JMException {
+    return new ObjectName(JMX_DOMAIN + ":type=Metrics,name=" + operation.name());
+  }
+
+  /**
+   * Registers one MBean per operation with the platform MBean server.
+   * Operations that are already registered are left alone.
+   */
+  public static void registerMBeans() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    for (OperationMetrics m : operations) {
+      ObjectName name = Metrics.getObjectName(m.getOperation());
+      if (!server.isRegistered(name)) {
+        server.registerMBean(m, name);
+      }
+    }
+  }
+
+  public static void unregisterMBeans() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    for (OperationMetrics m : operations) {
+      ObjectName name = Metrics.getObjectName(m.getOperation());
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    }
+  }
+}
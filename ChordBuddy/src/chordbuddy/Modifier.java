@@ -29,6 +29,11 @@ public class Modifier {
             this.Quality == otherModifier.Quality;
   }
 
+  @Override
+  public int hashCode() {
+    return this.TargetIndex * 31 + this.Quality;
+  }
+
   @Override
   public String toString() {
     return String.format("(%d, %d)", this.TargetIndex, this.Quality);
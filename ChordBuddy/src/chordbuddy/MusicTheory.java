@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  *
@@ -15,11 +16,20 @@ public class MusicTheory {
 
   public static final Character notationFlatChar;
   public static final Character notationSharpChar;
+  public static final Character notationSlashChar;
+  /**
+   * The quality notations that imply no modifiers. ChordVocabulary lists
+   * every notation, including ones such as "maj9".
+   */
   public static final Map<String, ChordQuality> notationChordQualities;
   public static final String tonicRegex;
   public static final String accidentalRegex;
   public static final String qualityRegex;
   public static final String modifierRegex;
+  public static final String bassRegex;
+  public static final Pattern noteSymbolPattern;
+  public static final Pattern chordSymbolPattern;
+  public static final Pattern modifierPattern;
 
   public static enum NoteName {
 
@@ -38,6 +48,7 @@ public class MusicTheory {
     MajInferred,
     Min,
     Dim,
+    HalfDim,
     Aug,
     Dom,
     Sus2,
@@ -53,62 +64,165 @@ public class MusicTheory {
   }
   public static final Map<NoteName, Key> foundationKeys;
 
+  public static enum ScaleFamily {
+
+    Major,
+    NaturalMinor,
+    HarmonicMinor,
+    MelodicMinor,
+    Ionian,
+    Dorian,
+    Phrygian,
+    Lydian,
+    Mixolydian,
+    Aeolian,
+    Locrian,
+    MajorPentatonic,
+    MinorPentatonic,
+    Blues,
+    MajorBlues,
+  }
+  public static final int MIN_TABLE_QUALITY = SpelledNote.MIN_INTERNED_QUALITY;
+  public static final int MAX_TABLE_QUALITY = SpelledNote.MAX_INTERNED_QUALITY;
+  private static final int[][][] majorScaleCodes;
+  private static final List<SpelledNote>[][] majorScales;
+  private static final int[][] scaleFormulas;
+  private static final int[][][][] scaleCodes;
+  private static final List<SpelledNote>[][][] scales;
+
   static {
     notationFlatChar = new Character('b');
     notationSharpChar = new Character('#');
+    notationSlashChar = Character.valueOf('/');
 
-    notationChordQualities = new HashMap<String, ChordQuality>();
-    notationChordQualities.put("maj", ChordQuality.Maj);
-    notationChordQualities.put("major", ChordQuality.Maj);
-    notationChordQualities.put("min", ChordQuality.Min);
-    notationChordQualities.put("minor", ChordQuality.Min);
-    notationChordQualities.put("-", ChordQuality.Min);
-    notationChordQualities.put("dim", ChordQuality.Dim);
-    notationChordQualities.put("diminished", ChordQuality.Dim);
-    notationChordQualities.put("aug", ChordQuality.Aug);
-    notationChordQualities.put("augmented", ChordQuality.Aug);
-    notationChordQualities.put("+", ChordQuality.Aug);
-    notationChordQualities.put("dom", ChordQuality.Dom);
-    notationChordQualities.put("dominant", ChordQuality.Dom);
-    notationChordQualities.put("sus", ChordQuality.Sus4);
-    notationChordQualities.put("sus4", ChordQuality.Sus4);
-    notationChordQualities.put("sus2", ChordQuality.Sus2);
+    // Note: The shared tables below are wrapped unmodifiable once built, so
+    //       they can be read from any thread without defensive copies
+    // Note: Only notations that stand for their quality alone are listed;
+    //       ones that also imply modifiers, such as "maj9", are only in
+    //       ChordVocabulary, which is the source of truth for the grammar
+    Map<String, ChordQuality> notations = new HashMap<String, ChordQuality>();
+    for (ChordVocabulary.Entry entry : ChordVocabulary.qualityNotations) {
+      if (entry.Modifiers.isEmpty()) {
+        notations.put(entry.Notation, entry.Quality);
+      }
+    }
+    notationChordQualities = Collections.unmodifiableMap(notations);
 
     tonicRegex = String.format("(?i)[%s-%s]", NoteName.values()[0], NoteName.values()[NoteName.values().length - 1]);
     accidentalRegex = String.format("(?-i)(?:[%c]*|[%c]*)", notationFlatChar, notationSharpChar);
-    qualityRegex = "(?i)(?:" + getChordQualityNotationRegex() + ")?";
-    modifierRegex = String.format("(?-i)(?:6|7|9|11|13)?(?:(?:[%c]+|[%c]+)(?:5|7|9|11|13))*", notationFlatChar, notationSharpChar);
+    qualityRegex = "(?i)(?:" + ChordVocabulary.getRegex(ChordVocabulary.qualityNotations) + ")?";
+    // Note: A notation that implies modifiers, such as "maj9", already
+    //       carries an extension, so no other may follow it
+    List<ChordVocabulary.Entry> extended = new ArrayList<ChordVocabulary.Entry>();
+    for (ChordVocabulary.Entry entry : ChordVocabulary.qualityNotations) {
+      if (!entry.Modifiers.isEmpty()) {
+        extended.add(entry);
+      }
+    }
+    modifierRegex = String.format("(?-i)(?:(?<!%s)(?:6|7|9|11|13))?(?:(?:[%c]+|[%c]+)(?:5|7|9|11|13)|%s)*", ChordVocabulary.getRegex(extended), notationFlatChar, notationSharpChar, ChordVocabulary.getRegex(ChordVocabulary.suffixNotations));
+    bassRegex = String.format("(?:%c(%s%s))?", notationSlashChar, tonicRegex, accidentalRegex);
 
-    orderOfFlats = new ArrayList<NoteName>();
-    orderOfFlats.add(NoteName.B);
-    orderOfFlats.add(NoteName.E);
-    orderOfFlats.add(NoteName.A);
-    orderOfFlats.add(NoteName.D);
-    orderOfFlats.add(NoteName.G);
-    orderOfFlats.add(NoteName.C);
-    orderOfFlats.add(NoteName.F);
+    // Note: Patterns are immutable and safe to share between threads, so they
+    //       are compiled once here rather than on every parse. Groups are:
+    //         note     => (letter)(accidentals)
+    //         chord    => (quality)(modifiers)(bass)
+    //         modifier => (accidentals)(index) or (suffix)
+    noteSymbolPattern = Pattern.compile(
+            "^(" +
+            tonicRegex +
+            ")(" +
+            accidentalRegex +
+            ")$");
+    chordSymbolPattern = Pattern.compile(
+            "^" +
+            tonicRegex +
+            accidentalRegex +
+            "(" +
+            qualityRegex +
+            ")(" +
+            modifierRegex +
+            ")" +
+            bassRegex +
+            "$");
+    modifierPattern = Pattern.compile("(" + accidentalRegex + ")(\\d+)|(" + ChordVocabulary.getRegex(ChordVocabulary.suffixNotations) + ")");
 
-    foundationKeys = new HashMap<NoteName, Key>();
-    foundationKeys.put(NoteName.A, new Key(KeyType.Sharp, 3));
-    foundationKeys.put(NoteName.B, new Key(KeyType.Sharp, 5));
-    foundationKeys.put(NoteName.C, new Key(KeyType.Natural, 0));
-    foundationKeys.put(NoteName.D, new Key(KeyType.Sharp, 2));
-    foundationKeys.put(NoteName.E, new Key(KeyType.Sharp, 4));
-    foundationKeys.put(NoteName.F, new Key(KeyType.Flat, 1));
-    foundationKeys.put(NoteName.G, new Key(KeyType.Sharp, 1));
-  }
+    List<NoteName> flats = new ArrayList<NoteName>();
+    flats.add(NoteName.B);
+    flats.add(NoteName.E);
+    flats.add(NoteName.A);
+    flats.add(NoteName.D);
+    flats.add(NoteName.G);
+    flats.add(NoteName.C);
+    flats.add(NoteName.F);
+    orderOfFlats = Collections.unmodifiableList(flats);
 
-  private static String getChordQualityNotationRegex() {
-    StringBuilder sb = new StringBuilder();
-    String prefix = "";
+    Map<NoteName, Key> keys = new HashMap<NoteName, Key>();
+    keys.put(NoteName.A, new Key(KeyType.Sharp, 3));
+    keys.put(NoteName.B, new Key(KeyType.Sharp, 5));
+    keys.put(NoteName.C, new Key(KeyType.Natural, 0));
+    keys.put(NoteName.D, new Key(KeyType.Sharp, 2));
+    keys.put(NoteName.E, new Key(KeyType.Sharp, 4));
+    keys.put(NoteName.F, new Key(KeyType.Flat, 1));
+    keys.put(NoteName.G, new Key(KeyType.Sharp, 1));
+    foundationKeys = Collections.unmodifiableMap(keys);
 
-    for (String notation : notationChordQualities.keySet()) {
-      sb.append(prefix);
-      sb.append("\\Q" + notation + "\\E");
-      prefix = "|";
+    // Note: A major scale depends only on its tonic's letter and quality, so
+    //       every scale within the table's quality range is spelled once here
+    //       and then shared; tonics outside the range are spelled on demand
+    NoteName[] letters = NoteName.values();
+    int qualities = MAX_TABLE_QUALITY - MIN_TABLE_QUALITY + 1;
+    majorScaleCodes = new int[letters.length][qualities][];
+    majorScales = createScaleTable(letters.length, qualities);
+    for (NoteName letter : letters) {
+      for (int quality = MIN_TABLE_QUALITY; quality <= MAX_TABLE_QUALITY; quality++) {
+        int[] codes = computeMajorScale(SpelledNote.valueOf(letter, quality));
+        majorScaleCodes[letter.ordinal()][quality - MIN_TABLE_QUALITY] = codes;
+        majorScales[letter.ordinal()][quality - MIN_TABLE_QUALITY] = toScale(codes);
+      }
     }
 
-    return sb.toString();
+    // Note: Every scale family is spelled as (degree, alteration) pairs off
+    //       the major scale of its tonic, e.g. Dorian's b3 and b7 on D give F
+    //       and C, so all families share the major scale's spelling rules
+    ScaleFamily[] families = ScaleFamily.values();
+    scaleFormulas = new int[families.length][];
+    scaleFormulas[ScaleFamily.Major.ordinal()] = new int[]{1, 0, 2, 0, 3, 0, 4, 0, 5, 0, 6, 0, 7, 0};
+    scaleFormulas[ScaleFamily.NaturalMinor.ordinal()] = new int[]{1, 0, 2, 0, 3, -1, 4, 0, 5, 0, 6, -1, 7, -1};
+    scaleFormulas[ScaleFamily.HarmonicMinor.ordinal()] = new int[]{1, 0, 2, 0, 3, -1, 4, 0, 5, 0, 6, -1, 7, 0};
+    scaleFormulas[ScaleFamily.MelodicMinor.ordinal()] = new int[]{1, 0, 2, 0, 3, -1, 4, 0, 5, 0, 6, 0, 7, 0};
+    scaleFormulas[ScaleFamily.Ionian.ordinal()] = new int[]{1, 0, 2, 0, 3, 0, 4, 0, 5, 0, 6, 0, 7, 0};
+    scaleFormulas[ScaleFamily.Dorian.ordinal()] = new int[]{1, 0, 2, 0, 3, -1, 4, 0, 5, 0, 6, 0, 7, -1};
+    scaleFormulas[ScaleFamily.Phrygian.ordinal()] = new int[]{1, 0, 2, -1, 3, -1, 4, 0, 5, 0, 6, -1, 7, -1};
+    scaleFormulas[ScaleFamily.Lydian.ordinal()] = new int[]{1, 0, 2, 0, 3, 0, 4, 1, 5, 0, 6, 0, 7, 0};
+    scaleFormulas[ScaleFamily.Mixolydian.ordinal()] = new int[]{1, 0, 2, 0, 3, 0, 4, 0, 5, 0, 6, 0, 7, -1};
+    scaleFormulas[ScaleFamily.Aeolian.ordinal()] = new int[]{1, 0, 2, 0, 3, -1, 4, 0, 5, 0, 6, -1, 7, -1};
+    scaleFormulas[ScaleFamily.Locrian.ordinal()] = new int[]{1, 0, 2, -1, 3, -1, 4, 0, 5, -1, 6, -1, 7, -1};
+    scaleFormulas[ScaleFamily.MajorPentatonic.ordinal()] = new int[]{1, 0, 2, 0, 3, 0, 5, 0, 6, 0};
+    scaleFormulas[ScaleFamily.MinorPentatonic.ordinal()] = new int[]{1, 0, 3, -1, 4, 0, 5, 0, 7, -1};
+    scaleFormulas[ScaleFamily.Blues.ordinal()] = new int[]{1, 0, 3, -1, 4, 0, 5, -1, 5, 0, 7, -1};
+    scaleFormulas[ScaleFamily.MajorBlues.ordinal()] = new int[]{1, 0, 2, 0, 3, -1, 3, 0, 5, 0, 6, 0};
+
+    scaleCodes = new int[families.length][letters.length][qualities][];
+    scales = createScaleFamilyTable(families.length, letters.length, qualities);
+    for (ScaleFamily family : families) {
+      for (NoteName letter : letters) {
+        for (int quality = MIN_TABLE_QUALITY; quality <= MAX_TABLE_QUALITY; quality++) {
+          int[] codes = computeScale(family, majorScaleCodes[letter.ordinal()][quality - MIN_TABLE_QUALITY]);
+          scaleCodes[family.ordinal()][letter.ordinal()][quality - MIN_TABLE_QUALITY] = codes;
+          scales[family.ordinal()][letter.ordinal()][quality - MIN_TABLE_QUALITY] = toScale(codes);
+        }
+      }
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<SpelledNote>[][] createScaleTable(int letters, int qualities) {
+    return new List[letters][qualities];
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<SpelledNote>[][][] createScaleFamilyTable(int families, int letters, int qualities) {
+    return new List[families][letters][qualities];
   }
 
   public static List<Note> getMajorScale(Note tonic) {
@@ -116,43 +230,130 @@ public class MusicTheory {
       return null;
     }
 
+    long start = Metrics.start();
     List<Note> scale = new ArrayList<Note>();
 
-    for (NoteName n : getScaleSkeleton(tonic)) {
-      scale.add(Note.create(n.toString()));
+    for (SpelledNote n : spellMajorScale(tonic.toSpelledNote())) {
+      scale.add(Note.create(n));
+    }
+
+    Metrics.stop(Metrics.Operation.MajorScale, start, false);
+    return scale;
+  }
+
+  /**
+   * Returns the major scale of a tonic as an unmodifiable list. Scales of
+   * tonics within the table's quality range are shared and never allocated.
+   */
+  public static List<SpelledNote> spellMajorScale(SpelledNote tonic) {
+    if (tonic == null) {
+      return null;
+    }
+
+    int quality = tonic.getQuality();
+    if (quality >= MIN_TABLE_QUALITY && quality <= MAX_TABLE_QUALITY) {
+      return majorScales[tonic.getLetter().ordinal()][quality - MIN_TABLE_QUALITY];
+    }
+
+    return toScale(computeMajorScale(tonic));
+  }
+
+  /**
+   * Returns the packed codes of a tonic's major scale. Arrays within the
+   * table's quality range are shared and must not be modified.
+   */
+  static int[] getMajorScaleCodes(int tonicCode) {
+    int quality = SpelledNote.qualityOf(tonicCode);
+    if (quality >= MIN_TABLE_QUALITY && quality <= MAX_TABLE_QUALITY) {
+      return majorScaleCodes[SpelledNote.letterOrdinalOf(tonicCode)][quality - MIN_TABLE_QUALITY];
+    }
+
+    return computeMajorScale(SpelledNote.fromCode(tonicCode));
+  }
+
+  /**
+   * Returns a scale of the given family as an unmodifiable list, ascending
+   * from the tonic. Scales of tonics within the table's quality range are
+   * shared and never allocated.
+   */
+  public static List<SpelledNote> spellScale(ScaleFamily family, SpelledNote tonic) {
+    if (family == null || tonic == null) {
+      return null;
+    }
+
+    int quality = tonic.getQuality();
+    if (quality >= MIN_TABLE_QUALITY && quality <= MAX_TABLE_QUALITY) {
+      return scales[family.ordinal()][tonic.getLetter().ordinal()][quality - MIN_TABLE_QUALITY];
+    }
+
+    return toScale(computeScale(family, computeMajorScale(tonic)));
+  }
+
+  /**
+   * Returns the packed codes of a scale of the given family. Arrays within
+   * the table's quality range are shared and must not be modified.
+   */
+  static int[] getScaleCodes(ScaleFamily family, int tonicCode) {
+    int quality = SpelledNote.qualityOf(tonicCode);
+    if (quality >= MIN_TABLE_QUALITY && quality <= MAX_TABLE_QUALITY) {
+      return scaleCodes[family.ordinal()][SpelledNote.letterOrdinalOf(tonicCode)][quality - MIN_TABLE_QUALITY];
+    }
+
+    return computeScale(family, computeMajorScale(SpelledNote.fromCode(tonicCode)));
+  }
+
+  private static int[] computeScale(ScaleFamily family, int[] majorScale) {
+    int[] formula = scaleFormulas[family.ordinal()];
+    int[] scale = new int[formula.length / 2];
+    for (int i = 0; i < scale.length; i++) {
+      scale[i] = SpelledNote.alter(majorScale[formula[2 * i] - 1], formula[2 * i + 1]);
+    }
+
+    return scale;
+  }
+
+  private static List<SpelledNote> toScale(int[] codes) {
+    SpelledNote[] notes = new SpelledNote[codes.length];
+    for (int i = 0; i < codes.length; i++) {
+      notes[i] = SpelledNote.fromCode(codes[i]);
+    }
+
+    return Collections.unmodifiableList(Arrays.asList(notes));
+  }
+
+  private static int[] computeMajorScale(SpelledNote tonic) {
+    int letterCount = NoteName.values().length;
+    int tonicOrdinal = tonic.getLetter().ordinal();
+
+    int[] scale = new int[letterCount];
+    for (int i = 0; i < letterCount; i++) {
+      scale[i] = SpelledNote.pack((tonicOrdinal + i) % letterCount, 0);
     }
 
     Key keyInfo = foundationKeys.get(tonic.getLetter());
     for (int i = 0; i < keyInfo.AccidentalCount; i++) {
       MusicTheory.NoteName target = null;
       if (keyInfo.Type == MusicTheory.KeyType.Flat) {
-        target = orderOfFlats.get(i % MusicTheory.NoteName.values().length);
+        target = orderOfFlats.get(i % letterCount);
       } else {
         // Note: The order of sharps is simply the order of flats reversed
-        target = orderOfFlats.get(orderOfFlats.size() - 1 - (i % MusicTheory.NoteName.values().length));
+        target = orderOfFlats.get(orderOfFlats.size() - 1 - (i % letterCount));
       }
 
-      for (int j = 0; j < scale.size(); j++) {
-        if (scale.get(j).getLetter() == target) {
-          if (keyInfo.Type == MusicTheory.KeyType.Flat) {
-            scale.get(j).flatify(1);
-          } else {
-            scale.get(j).sharpify(1);
-          }
-
-          // Note: Scales are contained within one octave, so there's no need to
-          //       further traverse the scale once a target is found
-          break;
-        }
+      // Note: Scales are contained within one octave, so the target's scale
+      //       degree follows directly from its distance to the tonic
+      int j = (target.ordinal() - tonicOrdinal + letterCount) % letterCount;
+      if (keyInfo.Type == MusicTheory.KeyType.Flat) {
+        scale[j] = SpelledNote.alter(scale[j], -1);
+      } else {
+        scale[j] = SpelledNote.alter(scale[j], 1);
       }
     }
 
     // If the tonic contains accidentals, each individual scale degree needs
     // to be updated to reflect the tonic's quality
-    if (tonic.getQuality() != 0) {
-      for (int i = 0; i < scale.size(); i++) {
-        scale.get(i).setQuality(scale.get(i).getQuality() + tonic.getQuality());
-      }
+    for (int i = 0; i < letterCount; i++) {
+      scale[i] = SpelledNote.alter(scale[i], tonic.getQuality());
     }
 
     return scale;
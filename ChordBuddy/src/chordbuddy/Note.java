@@ -1,149 +1,142 @@
 package chordbuddy;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.CharBuffer;
 
 /**
+ * Mutable adapter over an immutable, interned SpelledNote. Altering a note
+ * swaps the value it refers to rather than changing any shared state.
+ *
+ * Notes are not safe to share between threads while they are being altered;
+ * share the value returned by toSpelledNote() instead.
  *
  * @author Ryan
  */
 public class Note {
 
-  private MusicTheory.NoteName letter;
-  private Integer quality;
+  private SpelledNote value;
 
-  private Note(MusicTheory.NoteName letter, Integer quality) {
-    this.letter = letter;
-    this.quality = quality;
+  private Note(SpelledNote value) {
+    this.value = value;
   }
 
   public static Note create(String symbol) {
-    if (!Note.isValidSymbol(symbol)) {
-      return null;
-    }
+    long start = Metrics.start();
+    Note note = new SymbolMatcher().createNote(symbol);
+    Metrics.stop(Metrics.Operation.NoteCreate, start, note == null);
 
-    return new Note(Note.getSymbolLetter(symbol), Note.getSymbolQuality(symbol));
+    return note;
   }
 
-  public static Note copy(Note note) {
-    if (note == null) {
+  public static Note create(CharSequence symbol) {
+    if (symbol == null) {
       return null;
     }
 
-    Note copy = new Note(note.letter, note.quality);
-
-    return copy;
+    return Note.create(symbol, 0, symbol.length());
   }
 
-  public static boolean isValidSymbol(String symbol) {
-    if (symbol == null) {
-      return false;
+  /**
+   * Parses the note symbol held in [start, end) of text without copying it.
+   * Whitespace is skipped inline.
+   */
+  public static Note create(CharSequence text, int start, int end) {
+    if (text == null) {
+      return null;
     }
+    Utilities.checkRange(text.length(), start, end);
 
-    symbol = Utilities.removeWhitespace(symbol);
+    long metricsStart = Metrics.start();
+    SpelledNote value = ChordSymbolLexer.lexNote(text, start, end);
+    Metrics.stop(Metrics.Operation.NoteCreate, metricsStart, value == null);
 
-    Pattern validationPattern = Pattern.compile(
-            "^" +
-            MusicTheory.tonicRegex +
-            MusicTheory.accidentalRegex +
-            "$");
+    return Note.create(value);
+  }
 
-    Matcher m = validationPattern.matcher(symbol);
-    if (!m.matches()) {
-      return false;
+  public static Note create(char[] buffer, int offset, int length) {
+    if (buffer == null) {
+      return null;
     }
+    Utilities.checkRange(buffer.length, offset, offset + length);
 
-    return true;
+    return Note.create(CharBuffer.wrap(buffer), offset, offset + length);
   }
 
-  public static MusicTheory.NoteName getSymbolLetter(String symbol) {
-    if (!Note.isValidSymbol(symbol)) {
+  public static Note create(MusicTheory.NoteName letter, int quality) {
+    if (letter == null) {
       return null;
     }
 
-    symbol = Utilities.removeWhitespace(symbol);
-
-    Pattern letterPattern = Pattern.compile(
-            "^(" +
-            MusicTheory.tonicRegex +
-            ")" +
-            MusicTheory.accidentalRegex +
-            "$");
+    return new Note(SpelledNote.valueOf(letter, quality));
+  }
 
-    Matcher m = letterPattern.matcher(symbol);
-    if (!m.matches()) {
+  /**
+   * Package-private, so that Note.create(null) stays unambiguous for
+   * callers. Others can use create(value.getLetter(), value.getQuality()).
+   */
+  static Note create(SpelledNote value) {
+    if (value == null) {
       return null;
     }
 
-    String letter = m.group(1).toUpperCase();
-    return MusicTheory.NoteName.valueOf(letter);
+    return new Note(value);
   }
 
-  public static Integer getSymbolQuality(String symbol) {
-    if (!Note.isValidSymbol(symbol)) {
+  public static Note copy(Note note) {
+    if (note == null) {
       return null;
     }
 
-    symbol = Utilities.removeWhitespace(symbol);
-
-    Pattern qualityPattern = Pattern.compile(
-            "^" +
-            MusicTheory.tonicRegex +
-            "(" +
-            MusicTheory.accidentalRegex +
-            ")$");
+    Note copy = new Note(note.value);
 
-    Matcher m = qualityPattern.matcher(symbol);
-    if (!m.matches()) {
-      return null;
-    }
+    return copy;
+  }
 
-    String quality = m.group(1);
-    int qualityMagnitude = quality.length();
+  public static boolean isValidSymbol(String symbol) {
+    return new SymbolMatcher().isValidNoteSymbol(symbol);
+  }
 
-    if (quality.indexOf(MusicTheory.notationFlatChar) >= 0) {
-      qualityMagnitude *= -1;
-    }
+  public static MusicTheory.NoteName getSymbolLetter(String symbol) {
+    return new SymbolMatcher().getNoteSymbolLetter(symbol);
+  }
 
-    return qualityMagnitude;
+  public static Integer getSymbolQuality(String symbol) {
+    return new SymbolMatcher().getNoteSymbolQuality(symbol);
   }
 
   public MusicTheory.NoteName getLetter() {
-    return this.letter;
+    return this.value.getLetter();
   }
 
   public Integer getQuality() {
-    return this.quality;
+    return this.value.getQuality();
   }
 
   public void setQuality(Integer quality) {
-    this.quality = quality;
+    this.value = this.value.withQuality(quality);
   }
 
-  public String getFullName() {
-    StringBuilder sb = new StringBuilder();
-    sb.append(this.letter);
-
-    Character accidental = new Character('\0');
-    if (this.quality < 0) {
-      accidental = MusicTheory.notationFlatChar;
-    } else if (this.quality > 0) {
-      accidental = MusicTheory.notationSharpChar;
-    }
-
-    for (int i = 0; i < Math.abs(this.quality); i++) {
-      sb.append(accidental);
-    }
+  public SpelledNote toSpelledNote() {
+    return this.value;
+  }
 
-    return sb.toString();
+  public String getFullName() {
+    return this.value.getFullName();
   }
 
   public void flatify(int n) {
-    this.quality -= Math.abs(n);
+    this.value = this.value.alter(-Math.abs(n));
   }
 
   public void sharpify(int n) {
-    this.quality += Math.abs(n);
+    this.value = this.value.alter(Math.abs(n));
+  }
+
+  /**
+   * Moves this note by the given interval, spelling it from the note's key
+   * signature, e.g. Bb up a major third becomes D.
+   */
+  public void transpose(Interval interval) {
+    this.value = this.value.transpose(interval);
   }
 
   @Override
@@ -157,8 +150,12 @@ public class Note {
     }
 
     Note otherNote = (Note) other;
-    return this.letter.equals(otherNote.letter) &&
-            this.quality == otherNote.quality;
+    return this.value.equals(otherNote.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.value.hashCode();
   }
 
   @Override
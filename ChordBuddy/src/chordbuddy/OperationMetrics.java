@@ -0,0 +1,80 @@
+package chordbuddy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Call count, error count and latency histogram of one instrumented
+ * operation. Errors are calls that returned no result, e.g. an invalid
+ * symbol passed to a create method.
+ *
+ * @author Ryan
+ */
+public class OperationMetrics implements OperationMetricsMBean {
+
+  private final Metrics.Operation operation;
+  private final LatencyHistogram histogram;
+  private final AtomicLong errorCount;
+
+  OperationMetrics(Metrics.Operation operation) {
+    this.operation = operation;
+    this.histogram = new LatencyHistogram();
+    this.errorCount = new AtomicLong();
+  }
+
+  void record(long nanos, boolean error) {
+    this.histogram.record(nanos);
+    if (error) {
+      this.errorCount.incrementAndGet();
+    }
+  }
+
+  public Metrics.Operation getOperation() {
+    return this.operation;
+  }
+
+  public LatencyHistogram getHistogram() {
+    return this.histogram;
+  }
+
+  public String getName() {
+    return this.operation.name();
+  }
+
+  public long getCount() {
+    return this.histogram.getCount();
+  }
+
+  public long getErrorCount() {
+    return this.errorCount.get();
+  }
+
+  public double getMeanMicros() {
+    return this.histogram.getMeanNanos() / 1000.0;
+  }
+
+  public double getP50Micros() {
+    return this.histogram.getPercentileNanos(50) / 1000.0;
+  }
+
+  public double getP90Micros() {
+    return this.histogram.getPercentileNanos(90) / 1000.0;
+  }
+
+  public double getP99Micros() {
+    return this.histogram.getPercentileNanos(99) / 1000.0;
+  }
+
+  public double getMaxMicros() {
+    return this.histogram.getMaxNanos() / 1000.0;
+  }
+
+  public void reset() {
+    this.histogram.reset();
+    this.errorCount.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s errors=%d %s", this.getName(), this.getErrorCount(), this.histogram);
+  }
+}
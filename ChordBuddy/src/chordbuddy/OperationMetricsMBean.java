@@ -0,0 +1,27 @@
+package chordbuddy;
+
+/**
+ * JMX view of one instrumented operation. Times are in microseconds.
+ *
+ * @author Ryan
+ */
+public interface OperationMetricsMBean {
+
+  String getName();
+
+  long getCount();
+
+  long getErrorCount();
+
+  double getMeanMicros();
+
+  double getP50Micros();
+
+  double getP90Micros();
+
+  double getP99Micros();
+
+  double getMaxMicros();
+
+  void reset();
+}
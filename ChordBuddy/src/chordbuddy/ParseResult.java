@@ -0,0 +1,73 @@
+package chordbuddy;
+
+/**
+ * Outcome of parsing a single chord symbol in a batch: either the parsed
+ * chord, or an error message describing why the symbol was rejected.
+ *
+ * @author Ryan
+ */
+public class ParseResult {
+
+  private final int index;
+  private final String symbol;
+  private final Chord chord;
+  private final String error;
+
+  private ParseResult(int index, String symbol, Chord chord, String error) {
+    this.index = index;
+    this.symbol = symbol;
+    this.chord = chord;
+    this.error = error;
+  }
+
+  public static ParseResult success(int index, String symbol, Chord chord) {
+    return new ParseResult(index, symbol, chord, null);
+  }
+
+  public static ParseResult failure(int index, String symbol, String error) {
+    return new ParseResult(index, symbol, null, error);
+  }
+
+  static ParseResult parse(int index, String symbol) {
+    try {
+      Chord chord = Chord.create(symbol);
+      if (chord == null) {
+        return ParseResult.failure(index, symbol, String.format("Invalid chord symbol detected!: '%s'", symbol));
+      }
+
+      return ParseResult.success(index, symbol, chord);
+    } catch (RuntimeException e) {
+      return ParseResult.failure(index, symbol, e.toString());
+    }
+  }
+
+  /**
+   * The position of the symbol within its batch.
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  public String getSymbol() {
+    return this.symbol;
+  }
+
+  public boolean isSuccess() {
+    return this.chord != null;
+  }
+
+  public Chord getChord() {
+    return this.chord;
+  }
+
+  public String getError() {
+    return this.error;
+  }
+
+  @Override
+  public String toString() {
+    return this.isSuccess() ?
+            String.format("%d: '%s' => %s", this.index, this.symbol, this.chord.getNotes()) :
+            String.format("%d: '%s' => %s", this.index, this.symbol, this.error);
+  }
+}
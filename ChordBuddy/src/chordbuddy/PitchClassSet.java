@@ -0,0 +1,148 @@
+package chordbuddy;
+
+/**
+ * Immutable set of pitch classes (C = 0 through B = 11) packed into the low
+ * 12 bits of an int. Spelling is discarded, so C# and Db are the same member.
+ *
+ * Every operation is a constant number of bitwise instructions, and all 4096
+ * possible sets are interned, so comparing and combining sets never
+ * allocates. Callers that want to avoid even the object can work on getBits()
+ * with the static methods directly.
+ *
+ * @author Ryan
+ */
+public final class PitchClassSet {
+
+  public static final int PITCH_CLASSES = 12;
+  public static final int ALL_BITS = (1 << PITCH_CLASSES) - 1;
+  public static final PitchClassSet EMPTY;
+  public static final PitchClassSet CHROMATIC;
+
+  private static final PitchClassSet[] interned;
+
+  private final int bits;
+
+  static {
+    interned = new PitchClassSet[ALL_BITS + 1];
+    for (int bits = 0; bits <= ALL_BITS; bits++) {
+      interned[bits] = new PitchClassSet(bits);
+    }
+
+    EMPTY = interned[0];
+    CHROMATIC = interned[ALL_BITS];
+  }
+
+  private PitchClassSet(int bits) {
+    this.bits = bits;
+  }
+
+  /**
+   * Returns the set with the given bits; bits above the twelfth are ignored.
+   */
+  public static PitchClassSet fromBits(int bits) {
+    return interned[bits & ALL_BITS];
+  }
+
+  public static PitchClassSet of(SpelledNote... notes) {
+    int bits = 0;
+    for (SpelledNote note : notes) {
+      bits |= 1 << note.getPitchClass();
+    }
+
+    return interned[bits];
+  }
+
+  /**
+   * Returns the pitch classes of the given packed SpelledNote codes.
+   */
+  public static int bitsOf(int[] codes, int count) {
+    int bits = 0;
+    for (int i = 0; i < count; i++) {
+      bits |= 1 << SpelledNote.pitchClassOf(codes[i]);
+    }
+
+    return bits;
+  }
+
+  /**
+   * Rotates a set of bits up by the given number of semitones (negative
+   * values transpose down).
+   */
+  public static int transpose(int bits, int semitones) {
+    int n = semitones % PITCH_CLASSES;
+    if (n < 0) {
+      n += PITCH_CLASSES;
+    }
+
+    return ((bits << n) | (bits >>> (PITCH_CLASSES - n))) & ALL_BITS;
+  }
+
+  public int getBits() {
+    return this.bits;
+  }
+
+  public int size() {
+    return Integer.bitCount(this.bits);
+  }
+
+  public boolean isEmpty() {
+    return this.bits == 0;
+  }
+
+  public boolean contains(int pitchClass) {
+    return pitchClass >= 0 && pitchClass < PITCH_CLASSES && (this.bits & (1 << pitchClass)) != 0;
+  }
+
+  public boolean contains(SpelledNote note) {
+    return (this.bits & (1 << note.getPitchClass())) != 0;
+  }
+
+  public PitchClassSet union(PitchClassSet other) {
+    return interned[this.bits | other.bits];
+  }
+
+  public PitchClassSet intersection(PitchClassSet other) {
+    return interned[this.bits & other.bits];
+  }
+
+  public PitchClassSet difference(PitchClassSet other) {
+    return interned[this.bits & ~other.bits];
+  }
+
+  public PitchClassSet complement() {
+    return interned[~this.bits & ALL_BITS];
+  }
+
+  public boolean isSubsetOf(PitchClassSet other) {
+    return (this.bits & ~other.bits) == 0;
+  }
+
+  public PitchClassSet transpose(int semitones) {
+    return interned[PitchClassSet.transpose(this.bits, semitones)];
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other == this;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.bits;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    String prefix = "";
+
+    for (int pc = 0; pc < PITCH_CLASSES; pc++) {
+      if ((this.bits & (1 << pc)) != 0) {
+        sb.append(prefix).append(pc);
+        prefix = ", ";
+      }
+    }
+
+    return sb.append(']').toString();
+  }
+}
@@ -0,0 +1,111 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transposes whole progressions by one fixed interval without reparsing.
+ *
+ * The transposed spelling of every note within the interned accidental
+ * range is computed once when the transposer is created, so moving a chord
+ * is a table lookup on its tonic plus, at most, one small allocation that
+ * shares the chord's quality and modifiers. A transposer is immutable and
+ * may be shared between threads.
+ *
+ * @author Ryan
+ */
+public class ProgressionTransposer {
+
+  private static final int letterCount = MusicTheory.NoteName.values().length;
+  private static final int minQuality = SpelledNote.MIN_INTERNED_QUALITY;
+  private static final int maxQuality = SpelledNote.MAX_INTERNED_QUALITY;
+
+  private final Interval interval;
+  private final int[] codes;
+
+  public ProgressionTransposer(Interval interval) {
+    if (interval == null) {
+      throw new IllegalArgumentException("The interval must not be null");
+    }
+
+    this.interval = interval;
+    this.codes = new int[letterCount * (maxQuality - minQuality + 1)];
+    for (int quality = minQuality; quality <= maxQuality; quality++) {
+      for (int letter = 0; letter < letterCount; letter++) {
+        this.codes[(quality - minQuality) * letterCount + letter] = interval.transpose(SpelledNote.pack(letter, quality));
+      }
+    }
+  }
+
+  /**
+   * Creates a transposer moving music from one key to another, e.g. from C
+   * to Eb (up a minor third).
+   */
+  public static ProgressionTransposer between(SpelledNote fromKey, SpelledNote toKey) {
+    return new ProgressionTransposer(Interval.between(fromKey, toKey));
+  }
+
+  public Interval getInterval() {
+    return this.interval;
+  }
+
+  /**
+   * Returns the transposed code of a packed SpelledNote code.
+   */
+  public int transpose(int code) {
+    int quality = SpelledNote.qualityOf(code);
+    if (quality >= minQuality && quality <= maxQuality) {
+      return this.codes[(quality - minQuality) * letterCount + SpelledNote.letterOrdinalOf(code)];
+    }
+
+    return this.interval.transpose(code);
+  }
+
+  public SpelledNote transpose(SpelledNote note) {
+    return note == null ? null : SpelledNote.fromCode(this.transpose(note.getCode()));
+  }
+
+  public Chord transpose(Chord chord) {
+    if (chord == null) {
+      return null;
+    }
+
+    return chord.withTonic(this.transpose(chord.getSpelledTonic()), this.transpose(chord.getSpelledBass()));
+  }
+
+  /**
+   * Transposes length chords of in, starting at inOffset, into out starting
+   * at outOffset. in and out may be the same array. Null chords stay null.
+   */
+  public void transpose(Chord[] in, int inOffset, Chord[] out, int outOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      out[outOffset + i] = this.transpose(in[inOffset + i]);
+    }
+  }
+
+  public Chord[] transposeAll(Chord[] chords) {
+    Chord[] result = new Chord[chords.length];
+    this.transpose(chords, 0, result, 0, chords.length);
+
+    return result;
+  }
+
+  public List<Chord> transposeAll(List<Chord> chords) {
+    List<Chord> result = new ArrayList<Chord>(chords.size());
+    for (Chord chord : chords) {
+      result.add(this.transpose(chord));
+    }
+
+    return result;
+  }
+
+  /**
+   * Transposes count packed SpelledNote codes in place, e.g. the output of
+   * Chord.spellInto.
+   */
+  public void transposeCodes(int[] codes, int count) {
+    for (int i = 0; i < count; i++) {
+      codes[i] = this.transpose(codes[i]);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package chordbuddy;
+
+/**
+ * Immutable note value: a letter plus a signed accidental count (its quality),
+ * packed into a single int code.
+ *
+ * The code keeps the letter's ordinal in the low three bits and the quality,
+ * sign included, in the remaining bits, so codes can be stored in plain int
+ * arrays and decoded with a mask and an arithmetic shift. Values for every
+ * letter from quadruple-flat to quadruple-sharp are interned, so the notes a
+ * chord chart actually uses are never allocated.
+ *
+ * @author Ryan
+ */
+public final class SpelledNote {
+
+  public static final int MIN_INTERNED_QUALITY = -4;
+  public static final int MAX_INTERNED_QUALITY = 4;
+
+  private static final int letterBits = 3;
+  private static final int letterMask = (1 << letterBits) - 1;
+  private static final MusicTheory.NoteName[] letters;
+  private static final SpelledNote[] interned;
+  // Note: Semitones above C of each natural letter, indexed by ordinal
+  private static final int[] letterPitchClasses = {9, 11, 0, 2, 4, 5, 7};
+
+  private final int code;
+
+  static {
+    letters = MusicTheory.NoteName.values();
+
+    int qualities = MAX_INTERNED_QUALITY - MIN_INTERNED_QUALITY + 1;
+    interned = new SpelledNote[letters.length * qualities];
+    for (int quality = MIN_INTERNED_QUALITY; quality <= MAX_INTERNED_QUALITY; quality++) {
+      for (int letter = 0; letter < letters.length; letter++) {
+        interned[(quality - MIN_INTERNED_QUALITY) * letters.length + letter] =
+                new SpelledNote(SpelledNote.pack(letter, quality));
+      }
+    }
+  }
+
+  private SpelledNote(int code) {
+    this.code = code;
+  }
+
+  public static SpelledNote valueOf(MusicTheory.NoteName letter, int quality) {
+    if (letter == null) {
+      return null;
+    }
+
+    return SpelledNote.fromCode(SpelledNote.pack(letter.ordinal(), quality));
+  }
+
+  public static SpelledNote fromCode(int code) {
+    int quality = SpelledNote.qualityOf(code);
+
+    if (quality >= MIN_INTERNED_QUALITY && quality <= MAX_INTERNED_QUALITY) {
+      return interned[(quality - MIN_INTERNED_QUALITY) * letters.length + SpelledNote.letterOrdinalOf(code)];
+    }
+
+    return new SpelledNote(code);
+  }
+
+  public static int pack(int letterOrdinal, int quality) {
+    return (quality << letterBits) | letterOrdinal;
+  }
+
+  public static int letterOrdinalOf(int code) {
+    return code & letterMask;
+  }
+
+  public static MusicTheory.NoteName letterOf(int code) {
+    return letters[code & letterMask];
+  }
+
+  public static int qualityOf(int code) {
+    return code >> letterBits;
+  }
+
+  /**
+   * Returns the pitch class of a code: its semitones above C, from 0 to 11,
+   * so enharmonic spellings such as F# and Gb share a pitch class.
+   */
+  public static int pitchClassOf(int code) {
+    int pc = (letterPitchClasses[code & letterMask] + SpelledNote.qualityOf(code)) % 12;
+    return pc < 0 ? pc + 12 : pc;
+  }
+
+  /**
+   * Returns the code of the same letter with its quality shifted by n
+   * (positive sharpens, negative flattens).
+   */
+  public static int alter(int code, int n) {
+    return code + (n << letterBits);
+  }
+
+  public MusicTheory.NoteName getLetter() {
+    return SpelledNote.letterOf(this.code);
+  }
+
+  public int getQuality() {
+    return SpelledNote.qualityOf(this.code);
+  }
+
+  public int getCode() {
+    return this.code;
+  }
+
+  public int getPitchClass() {
+    return SpelledNote.pitchClassOf(this.code);
+  }
+
+  public SpelledNote withQuality(int quality) {
+    return SpelledNote.fromCode(SpelledNote.pack(SpelledNote.letterOrdinalOf(this.code), quality));
+  }
+
+  public SpelledNote alter(int n) {
+    return n == 0 ? this : SpelledNote.fromCode(SpelledNote.alter(this.code, n));
+  }
+
+  public SpelledNote transpose(Interval interval) {
+    return SpelledNote.fromCode(interval.transpose(this.code));
+  }
+
+  /**
+   * Returns the accidentals written for a quality, e.g. "bb" for -2 and ""
+   * for 0.
+   */
+  public static String getAccidentals(int quality) {
+    if (quality >= MIN_INTERNED_QUALITY && quality <= MAX_INTERNED_QUALITY) {
+      return Names.accidentals[quality - MIN_INTERNED_QUALITY];
+    }
+
+    return SpelledNote.buildAccidentals(quality);
+  }
+
+  private static String buildAccidentals(int quality) {
+    char accidental = quality < 0 ? MusicTheory.notationFlatChar : MusicTheory.notationSharpChar;
+
+    StringBuilder sb = new StringBuilder(Math.abs(quality));
+    for (int i = 0; i < Math.abs(quality); i++) {
+      sb.append(accidental);
+    }
+
+    return sb.toString();
+  }
+
+  public String getFullName() {
+    int quality = this.getQuality();
+    if (quality >= MIN_INTERNED_QUALITY && quality <= MAX_INTERNED_QUALITY) {
+      return Names.interned[(quality - MIN_INTERNED_QUALITY) * letters.length + SpelledNote.letterOrdinalOf(this.code)];
+    }
+
+    return this.getLetter().name() + SpelledNote.buildAccidentals(quality);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    } else if (!(other instanceof SpelledNote)) {
+      return false;
+    }
+
+    return this.code == ((SpelledNote) other).code;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.code;
+  }
+
+  @Override
+  public String toString() {
+    return this.getFullName();
+  }
+
+  /**
+   * Names of the interned notes, built once so that naming an interned note
+   * never allocates. They live in their own class because the accidental
+   * characters come from MusicTheory, whose initialization creates notes.
+   */
+  private static class Names {
+
+    static final String[] accidentals;
+    static final String[] interned;
+
+    static {
+      int qualities = MAX_INTERNED_QUALITY - MIN_INTERNED_QUALITY + 1;
+      accidentals = new String[qualities];
+      for (int quality = MIN_INTERNED_QUALITY; quality <= MAX_INTERNED_QUALITY; quality++) {
+        accidentals[quality - MIN_INTERNED_QUALITY] = SpelledNote.buildAccidentals(quality);
+      }
+
+      interned = new String[letters.length * qualities];
+      for (int quality = MIN_INTERNED_QUALITY; quality <= MAX_INTERNED_QUALITY; quality++) {
+        for (int letter = 0; letter < letters.length; letter++) {
+          interned[(quality - MIN_INTERNED_QUALITY) * letters.length + letter] =
+                  letters[letter].name() + accidentals[quality - MIN_INTERNED_QUALITY];
+        }
+      }
+    }
+  }
+}
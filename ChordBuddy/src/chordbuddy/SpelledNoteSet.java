@@ -0,0 +1,211 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable set of spelled notes packed into a long. Unlike PitchClassSet it
+ * keeps letter and accidental identity, so C# and Db are different members.
+ *
+ * Each note from quadruple-flat to quadruple-sharp owns one bit: bit
+ * (quality + 4) * 7 + letterOrdinal. The bits therefore form nine lanes of
+ * seven letters, one lane per accidental, which fills 63 of the 64 bits and
+ * lets every operation, including chromatic alteration and conversion to
+ * pitch classes, run in a constant number of steps.
+ *
+ * @author Ryan
+ */
+public final class SpelledNoteSet {
+
+  public static final int MIN_QUALITY = SpelledNote.MIN_INTERNED_QUALITY;
+  public static final int MAX_QUALITY = SpelledNote.MAX_INTERNED_QUALITY;
+  public static final SpelledNoteSet EMPTY = new SpelledNoteSet(0L);
+
+  private static final int laneWidth = MusicTheory.NoteName.values().length;
+  private static final int laneCount = MAX_QUALITY - MIN_QUALITY + 1;
+  private static final int laneMask = (1 << laneWidth) - 1;
+  private static final long allBits = (1L << (laneWidth * laneCount)) - 1;
+  // Note: Pitch classes of each combination of natural letters in a lane
+  private static final int[] lanePitchClasses;
+
+  private final long bits;
+
+  static {
+    lanePitchClasses = new int[laneMask + 1];
+    for (int lane = 0; lane <= laneMask; lane++) {
+      int pcs = 0;
+      for (int letter = 0; letter < laneWidth; letter++) {
+        if ((lane & (1 << letter)) != 0) {
+          pcs |= 1 << SpelledNote.pitchClassOf(SpelledNote.pack(letter, 0));
+        }
+      }
+      lanePitchClasses[lane] = pcs;
+    }
+  }
+
+  private SpelledNoteSet(long bits) {
+    this.bits = bits;
+  }
+
+  /**
+   * Returns the set with the given bits; the unused top bit is ignored.
+   */
+  public static SpelledNoteSet fromBits(long bits) {
+    bits &= allBits;
+    return bits == 0 ? EMPTY : new SpelledNoteSet(bits);
+  }
+
+  /**
+   * Returns the set of the given notes, or null if any note has more than
+   * four accidentals.
+   */
+  public static SpelledNoteSet of(SpelledNote... notes) {
+    long bits = 0;
+    for (SpelledNote note : notes) {
+      long bit = SpelledNoteSet.bitOf(note.getCode());
+      if (bit == 0) {
+        return null;
+      }
+      bits |= bit;
+    }
+
+    return SpelledNoteSet.fromBits(bits);
+  }
+
+  /**
+   * Returns the single bit of a packed SpelledNote code, or 0 if the code has
+   * more than four accidentals.
+   */
+  public static long bitOf(int code) {
+    int quality = SpelledNote.qualityOf(code);
+    if (quality < MIN_QUALITY || quality > MAX_QUALITY) {
+      return 0L;
+    }
+
+    return 1L << ((quality - MIN_QUALITY) * laneWidth + SpelledNote.letterOrdinalOf(code));
+  }
+
+  /**
+   * Returns the bits of the given packed SpelledNote codes, or 0 if any code
+   * has more than four accidentals.
+   */
+  public static long bitsOf(int[] codes, int count) {
+    long bits = 0;
+    for (int i = 0; i < count; i++) {
+      long bit = SpelledNoteSet.bitOf(codes[i]);
+      if (bit == 0) {
+        return 0L;
+      }
+      bits |= bit;
+    }
+
+    return bits;
+  }
+
+  /**
+   * Shifts every note of a set of bits by n accidentals, keeping its letter
+   * (n = 1 turns C E G into C# E# G#). Notes pushed past four accidentals
+   * are dropped.
+   */
+  public static long alter(long bits, int n) {
+    int shift = n * laneWidth;
+    if (shift >= 64 || shift <= -64) {
+      return 0L;
+    }
+
+    return (shift >= 0 ? bits << shift : bits >>> -shift) & allBits;
+  }
+
+  /**
+   * Returns the 12-bit pitch class set sounded by a set of bits.
+   */
+  public static int pitchClassBits(long bits) {
+    int pcs = 0;
+    for (int lane = 0; lane < laneCount; lane++) {
+      int letters = (int) (bits >>> (lane * laneWidth)) & laneMask;
+      if (letters != 0) {
+        pcs |= PitchClassSet.transpose(lanePitchClasses[letters], lane + MIN_QUALITY);
+      }
+    }
+
+    return pcs;
+  }
+
+  public long getBits() {
+    return this.bits;
+  }
+
+  public int size() {
+    return Long.bitCount(this.bits);
+  }
+
+  public boolean isEmpty() {
+    return this.bits == 0;
+  }
+
+  public boolean contains(SpelledNote note) {
+    long bit = SpelledNoteSet.bitOf(note.getCode());
+    return bit != 0 && (this.bits & bit) != 0;
+  }
+
+  public SpelledNoteSet union(SpelledNoteSet other) {
+    return SpelledNoteSet.fromBits(this.bits | other.bits);
+  }
+
+  public SpelledNoteSet intersection(SpelledNoteSet other) {
+    return SpelledNoteSet.fromBits(this.bits & other.bits);
+  }
+
+  public SpelledNoteSet difference(SpelledNoteSet other) {
+    return SpelledNoteSet.fromBits(this.bits & ~other.bits);
+  }
+
+  public boolean isSubsetOf(SpelledNoteSet other) {
+    return (this.bits & ~other.bits) == 0;
+  }
+
+  public SpelledNoteSet alter(int n) {
+    return SpelledNoteSet.fromBits(SpelledNoteSet.alter(this.bits, n));
+  }
+
+  public PitchClassSet toPitchClassSet() {
+    return PitchClassSet.fromBits(SpelledNoteSet.pitchClassBits(this.bits));
+  }
+
+  /**
+   * Returns the members ordered by accidental, then by letter.
+   */
+  public List<SpelledNote> getNotes() {
+    List<SpelledNote> notes = new ArrayList<SpelledNote>(this.size());
+
+    long remaining = this.bits;
+    while (remaining != 0) {
+      int index = Long.numberOfTrailingZeros(remaining);
+      notes.add(SpelledNote.valueOf(MusicTheory.NoteName.values()[index % laneWidth], index / laneWidth + MIN_QUALITY));
+      remaining &= remaining - 1;
+    }
+
+    return notes;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    } else if (!(other instanceof SpelledNoteSet)) {
+      return false;
+    }
+
+    return this.bits == ((SpelledNoteSet) other).bits;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (this.bits ^ (this.bits >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    return this.getNotes().toString();
+  }
+}
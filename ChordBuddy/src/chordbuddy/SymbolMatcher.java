@@ -0,0 +1,215 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Regex based symbol parsing over the patterns precompiled in MusicTheory.
+ *
+ * The static parsing methods on Note and Chord use a fresh instance per call.
+ * Callers parsing many symbols on a single thread can hold on to one instance
+ * so its matchers are reset and reused instead of reallocated. Instances are
+ * not thread-safe.
+ *
+ * @author Ryan
+ */
+public class SymbolMatcher {
+
+  private Matcher noteMatcher;
+  private Matcher chordMatcher;
+  private Matcher modifierMatcher;
+
+  public boolean isValidNoteSymbol(String symbol) {
+    return this.matchNote(symbol) != null;
+  }
+
+  public MusicTheory.NoteName getNoteSymbolLetter(String symbol) {
+    Matcher m = this.matchNote(symbol);
+    if (m == null) {
+      return null;
+    }
+
+    return MusicTheory.NoteName.valueOf(m.group(1).toUpperCase());
+  }
+
+  public Integer getNoteSymbolQuality(String symbol) {
+    Matcher m = this.matchNote(symbol);
+    if (m == null) {
+      return null;
+    }
+
+    return SymbolMatcher.getAccidentalQuality(m.group(2));
+  }
+
+  public Note createNote(String symbol) {
+    Matcher m = this.matchNote(symbol);
+    if (m == null) {
+      return null;
+    }
+
+    return Note.create(
+            MusicTheory.NoteName.valueOf(m.group(1).toUpperCase()),
+            SymbolMatcher.getAccidentalQuality(m.group(2)));
+  }
+
+  public boolean isValidChordSymbol(String symbol) {
+    return this.matchChord(symbol) != null;
+  }
+
+  public Note getChordSymbolTonic(String symbol) {
+    if (this.matchChord(symbol) == null) {
+      return null;
+    }
+
+    symbol = Utilities.removeWhitespace(symbol);
+
+    Character noteName = symbol.charAt(0);
+    int noteQuality = 0;
+    Character noteBaseAccidental = null;
+
+    for (int i = 1; i < symbol.length(); i++) {
+      Character curChar = symbol.charAt(i);
+      if (curChar.equals(MusicTheory.notationFlatChar) || curChar.equals(MusicTheory.notationSharpChar)) {
+        if (noteBaseAccidental == null) {
+          noteBaseAccidental = curChar;
+          noteQuality++;
+        } else if (curChar.equals(noteBaseAccidental)) {
+          noteQuality++;
+        }
+      } else {
+        break;
+      }
+    }
+
+    if (MusicTheory.notationFlatChar.equals(noteBaseAccidental)) {
+      noteQuality *= -1;
+    }
+
+    return Note.create(MusicTheory.NoteName.valueOf(noteName.toString().toUpperCase()), noteQuality);
+  }
+
+  public MusicTheory.ChordQuality getChordSymbolQuality(String symbol) {
+    Matcher m = this.matchChord(symbol);
+    if (m == null) {
+      return null;
+    }
+
+    ChordVocabulary.Entry entry = ChordVocabulary.findQuality(m.group(1));
+    MusicTheory.ChordQuality quality = entry == null ? null : entry.Quality;
+
+    if (quality == null) {
+      Character tonicLetter = Utilities.removeWhitespace(symbol).charAt(0);
+
+      if (Character.isLowerCase(tonicLetter)) {
+        quality = MusicTheory.ChordQuality.Min;
+      } else if (Character.isUpperCase(tonicLetter)) {
+        quality = MusicTheory.ChordQuality.MajInferred;
+      }
+    }
+
+    return quality;
+  }
+
+  public List<Modifier> getChordSymbolModifiers(String symbol) {
+    Matcher m = this.matchChord(symbol);
+    if (m == null) {
+      return null;
+    }
+
+    List<Modifier> modifiers = new ArrayList<Modifier>();
+
+    String qualityString = m.group(1);
+    String modifierString = m.group(2);
+
+    ChordVocabulary.Entry notation = ChordVocabulary.findQuality(qualityString);
+    if (notation != null) {
+      modifiers.addAll(notation.Modifiers);
+    }
+
+    if (this.modifierMatcher == null) {
+      this.modifierMatcher = MusicTheory.modifierPattern.matcher(modifierString);
+    } else {
+      this.modifierMatcher.reset(modifierString);
+    }
+
+    m = this.modifierMatcher;
+    while (m.find()) {
+      if (m.group(3) != null) {
+        modifiers.addAll(ChordVocabulary.findSuffix(m.group(3)).Modifiers);
+        continue;
+      }
+
+      String accidentalString = m.group(1);
+      String indexString = m.group(2);
+
+      int index = Integer.parseInt(indexString);
+      int quality = SymbolMatcher.getAccidentalQuality(accidentalString);
+
+      if (modifiers.size() == 0 && qualityString.length() == 0) {
+        if (index == 7) {
+          quality = 0;
+        }
+      }
+
+      modifiers.add(new Modifier(index, quality));
+    }
+
+    return modifiers;
+  }
+
+  /**
+   * Returns the bass note written after the slash of a slash chord, or null
+   * if the symbol is invalid or has no bass note.
+   */
+  public Note getChordSymbolBass(String symbol) {
+    Matcher m = this.matchChord(symbol);
+    if (m == null || m.group(3) == null) {
+      return null;
+    }
+
+    return this.createNote(m.group(3));
+  }
+
+  private Matcher matchNote(String symbol) {
+    if (symbol == null) {
+      return null;
+    }
+
+    symbol = Utilities.removeWhitespace(symbol);
+
+    if (this.noteMatcher == null) {
+      this.noteMatcher = MusicTheory.noteSymbolPattern.matcher(symbol);
+    } else {
+      this.noteMatcher.reset(symbol);
+    }
+
+    return this.noteMatcher.matches() ? this.noteMatcher : null;
+  }
+
+  private Matcher matchChord(String symbol) {
+    if (symbol == null) {
+      return null;
+    }
+
+    symbol = Utilities.removeWhitespace(symbol);
+
+    if (this.chordMatcher == null) {
+      this.chordMatcher = MusicTheory.chordSymbolPattern.matcher(symbol);
+    } else {
+      this.chordMatcher.reset(symbol);
+    }
+
+    return this.chordMatcher.matches() ? this.chordMatcher : null;
+  }
+
+  private static int getAccidentalQuality(String accidentals) {
+    int quality = accidentals.length();
+
+    if (accidentals.indexOf(MusicTheory.notationFlatChar) >= 0) {
+      quality *= -1;
+    }
+
+    return quality;
+  }
+}
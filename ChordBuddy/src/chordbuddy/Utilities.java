@@ -1,18 +1,54 @@
 package chordbuddy;
 
+import java.util.regex.Pattern;
+
 /**
  *
  * @author Ryan
  */
 public class Utilities {
 
+  private static final Pattern whitespacePattern = Pattern.compile("\\s+");
+
   public static String removeWhitespace(String original) {
     String cleansed = new String();
 
     if (original != null) {
-      cleansed = original.replaceAll("\\s+", "");
+      cleansed = whitespacePattern.matcher(original).replaceAll("");
     }
 
     return cleansed;
   }
+
+  /**
+   * Matches the same characters as the regex \s class used by
+   * removeWhitespace, so inline skipping and removal always agree.
+   */
+  public static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  public static boolean isBlank(String s) {
+    if (s == null) {
+      return true;
+    }
+
+    for (int i = 0; i < s.length(); i++) {
+      if (!Utilities.isWhitespace(s.charAt(i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Throws IndexOutOfBoundsException unless [start, end) lies within a
+   * sequence of the given length.
+   */
+  public static void checkRange(int length, int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d", start, end, length));
+    }
+  }
 }
@@ -0,0 +1,56 @@
+package chordbuddy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordBatchTest {
+
+  private static String run(ChordBatch batch, String input) throws IOException {
+    StringWriter out = new StringWriter();
+    batch.run(new BufferedReader(new StringReader(input)), out);
+
+    return out.toString();
+  }
+
+  @Test
+  public void testParseFormat() {
+    assertEquals("Formats should be parsed in any casing", ChordBatch.Format.Jsonl, ChordBatch.parseFormat("JSONL"));
+    assertEquals("Formats should be parsed in any casing", ChordBatch.Format.Tsv, ChordBatch.parseFormat("tsv"));
+    assertEquals("Unknown formats should return null", null, ChordBatch.parseFormat("xml"));
+  }
+
+  @Test
+  public void testRun_tsv() throws IOException {
+    ChordBatch batch = new ChordBatch(ChordBatch.Format.Tsv);
+    String actual = run(batch, "G7\n\n   \nH7\nA\tmaj\n");
+
+    String expected =
+            "1\tok\tG7\tG B D F\n" +
+            "4\terror\tH7\tInvalid chord symbol\n" +
+            "5\tok\tA\\tmaj\tA C# E\n";
+
+    assertEquals("Each non-blank line should produce one tab separated result", expected, actual);
+    assertEquals("Blank lines should not be processed", 3, batch.getProcessedCount());
+    assertEquals("Invalid symbols should be counted", 1, batch.getErrorCount());
+  }
+
+  @Test
+  public void testRun_jsonl() throws IOException {
+    ChordBatch batch = new ChordBatch(ChordBatch.Format.Jsonl);
+    String actual = run(batch, "Bbmin7\r\nbad\"chord\n");
+
+    String expected =
+            "{\"line\":1,\"symbol\":\"Bbmin7\",\"notes\":[\"Bb\",\"Db\",\"F\",\"Ab\"]}\n" +
+            "{\"line\":2,\"symbol\":\"bad\\\"chord\",\"error\":\"Invalid chord symbol\"}\n";
+
+    assertEquals("Each non-blank line should produce one JSON object", expected, actual);
+  }
+}
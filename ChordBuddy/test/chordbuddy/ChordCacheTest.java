@@ -0,0 +1,79 @@
+package chordbuddy;
+
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordCacheTest {
+
+  @Test
+  public void testGetChord_null() {
+    ChordCache cache = new ChordCache(4);
+    assertEquals("A null symbol should return a null chord", null, cache.getChord(null));
+  }
+
+  @Test
+  public void testGetChord_invalid() {
+    ChordCache cache = new ChordCache(4);
+    assertEquals("An invalid symbol should return a null chord", null, cache.getChord("badchord"));
+    assertEquals("An invalid symbol should return null notes", null, cache.getNotes("badchord"));
+    assertEquals("An invalid symbol should be remembered", 1, cache.getHitCount());
+  }
+
+  @Test
+  public void testGetChord_normalizedKey() {
+    ChordCache cache = new ChordCache(4);
+    Chord first = cache.getChord("F#-7b5");
+    Chord second = cache.getChord(" F # - 7 b 5 ");
+
+    assertNotNull("A valid symbol should return a chord", first);
+    assertSame("Symbols differing only in whitespace should share an entry", first, second);
+    assertEquals("The first lookup should miss", 1, cache.getMissCount());
+    assertEquals("The second lookup should hit", 1, cache.getHitCount());
+  }
+
+  @Test
+  public void testGetNotes() {
+    ChordCache cache = new ChordCache(4);
+    String symbol = "Cmaj7";
+
+    assertEquals("Cached notes should match a freshly spelled chord", Chord.create(symbol).getNotes(), cache.getNotes(symbol));
+
+    List<Note> notes = cache.getNotes(symbol);
+    notes.get(0).sharpify(1);
+    notes.clear();
+
+    assertEquals("Changes to returned notes should not leak into the cache", Chord.create(symbol).getNotes(), cache.getNotes(symbol));
+  }
+
+  @Test
+  public void testEviction() {
+    ChordCache cache = new ChordCache(2, 1);
+    cache.getChord("C");
+    cache.getChord("D");
+    cache.getChord("C");
+    cache.getChord("E");
+
+    assertEquals("The cache should not grow beyond its maximum size", 2, cache.size());
+    assertEquals("Adding beyond the maximum size should evict an entry", 1, cache.getEvictionCount());
+
+    cache.getChord("C");
+    assertEquals("The most recently used entry should survive eviction", 2, cache.getHitCount());
+
+    cache.getChord("D");
+    assertEquals("The least recently used entry should be evicted", 4, cache.getMissCount());
+  }
+
+  @Test
+  public void testClear() {
+    ChordCache cache = new ChordCache(8);
+    cache.getChord("G7");
+    cache.clear();
+
+    assertEquals("A cleared cache should be empty", 0, cache.size());
+  }
+}
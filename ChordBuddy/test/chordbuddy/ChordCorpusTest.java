@@ -0,0 +1,106 @@
+package chordbuddy;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordCorpusTest {
+
+  private static final String[] lines = {"G7", "Cmaj7", "", "F#-7b5", "badchord", "  ", "Bb13#11\r", "e", "H"};
+
+  private static File createCorpus(int repeat, boolean trailingNewline) throws IOException {
+    File file = File.createTempFile("corpus", ".txt");
+    file.deleteOnExit();
+
+    Writer out = new OutputStreamWriter(new FileOutputStream(file), "US-ASCII");
+    try {
+      for (int i = 0; i < repeat; i++) {
+        for (int j = 0; j < lines.length; j++) {
+          out.write(lines[j]);
+          if (trailingNewline || i < repeat - 1 || j < lines.length - 1) {
+            out.write('\n');
+          }
+        }
+      }
+    } finally {
+      out.close();
+    }
+
+    return file;
+  }
+
+  private static void assertSummary(int repeat, CorpusSummary summary) {
+    assertEquals("Every line should be counted", lines.length * repeat, summary.getLineCount());
+    assertEquals("Blank lines should not count as symbols", (lines.length - 2) * repeat, summary.getSymbolCount());
+    assertEquals("Invalid symbols should be counted", 2 * repeat, summary.getInvalidCount());
+    assertEquals("Chord qualities should be counted", 2 * repeat, summary.getQualityCount(MusicTheory.ChordQuality.Min));
+    assertEquals("Chord qualities should be counted", 1 * repeat, summary.getQualityCount(MusicTheory.ChordQuality.Maj));
+    assertEquals("Chord tonics should be counted", 1 * repeat, summary.getTonicCount(SpelledNote.valueOf(MusicTheory.NoteName.B, -1)));
+  }
+
+  @Test
+  public void testAnalyze_text() {
+    StringBuilder text = new StringBuilder();
+    for (String line : lines) {
+      text.append(line).append('\n');
+    }
+
+    CorpusSummary summary = new CorpusSummary();
+    ChordCorpus.analyze(text, 0, text.length(), summary);
+    assertSummary(1, summary);
+  }
+
+  @Test
+  public void testAnalyze_sequential() throws IOException {
+    File file = createCorpus(50, false);
+    assertSummary(50, new ChordCorpus(null, 17).analyze(file));
+  }
+
+  @Test
+  public void testAnalyze_parallel() throws IOException {
+    File file = createCorpus(500, true);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      assertSummary(500, new ChordCorpus(executor, 64).analyze(file));
+      assertSummary(500, new ChordCorpus(executor, ChordCorpus.DEFAULT_CHUNK_SIZE).analyze(file));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testAnalyze_empty() throws IOException {
+    File file = createCorpus(0, false);
+    assertEquals("An empty corpus should have no lines", 0, new ChordCorpus().analyze(file).getLineCount());
+  }
+
+  @Test
+  public void testAnalyze_utf8() throws IOException {
+    File file = File.createTempFile("corpus", ".txt");
+    file.deleteOnExit();
+
+    Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      out.write("C\u00f87\nG7\nF#\u00f8\n\u00f8\nB\u00f87/F\n");
+    } finally {
+      out.close();
+    }
+
+    CorpusSummary summary = new ChordCorpus(null, 8).analyze(file);
+    assertEquals("Every line should be counted", 5, summary.getLineCount());
+    assertEquals("Only the lone sign should be invalid", 1, summary.getInvalidCount());
+    assertEquals("UTF-8 half-diminished symbols should be decoded", 3, summary.getQualityCount(MusicTheory.ChordQuality.HalfDim));
+    assertEquals("Chord tonics should be counted", 1, summary.getTonicCount(SpelledNote.valueOf(MusicTheory.NoteName.F, 1)));
+  }
+}
@@ -0,0 +1,85 @@
+package chordbuddy;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordDictionaryTest {
+
+  private static File file;
+  private static ChordDictionary dictionary;
+
+  @BeforeClass
+  public static void setUpClass() throws IOException {
+    file = File.createTempFile("chords", ".dict");
+    ChordDictionaryGenerator.write(file, 1, 1);
+    dictionary = ChordDictionary.open(file);
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    dictionary = null;
+    file.delete();
+  }
+
+  @Test
+  public void testSize() {
+    assertEquals("Every valid symbol should be stored", ChordDictionaryGenerator.enumerate(1, 1).size(), dictionary.size());
+  }
+
+  @Test
+  public void testGetNotes_everySymbol() {
+    int[] expected = new int[Chord.MAX_NOTES];
+    int[] actual = new int[Chord.MAX_NOTES];
+
+    for (String symbol : ChordDictionaryGenerator.enumerate(1, 1)) {
+      int count = Chord.create(symbol).spellInto(expected);
+
+      assertEquals("The dictionary should spell like the parser: " + symbol, count, dictionary.spellInto(symbol, actual));
+      for (int i = 0; i < count; i++) {
+        assertEquals("The dictionary should spell like the parser: " + symbol, expected[i], actual[i]);
+      }
+    }
+  }
+
+  @Test
+  public void testGetNotes() {
+    List<Note> notes = dictionary.getNotes("Eb-7b5");
+
+    assertEquals("Stored notes should match parsing", Chord.create("Eb-7b5").getNotes(), notes);
+    assertTrue("Symbols should be found from any CharSequence", dictionary.contains(new StringBuilder("G7")));
+  }
+
+  @Test
+  public void testGetNotes_missing() {
+    assertNull("Null symbols are not found", dictionary.getNotes(null));
+    assertNull("Invalid symbols are not found", dictionary.getNotes("H7"));
+    assertNull("Symbols are matched as generated", dictionary.getNotes("G MAJ7"));
+    assertNull("Symbols beyond the generated depth are not found", dictionary.getNotes("C7b9#11"));
+    assertEquals("Missing symbols should spell no notes", -1, dictionary.spellInto("", new int[Chord.MAX_NOTES]));
+    assertFalse("Null symbols are not found", dictionary.contains(null));
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpen_notADictionary() throws IOException {
+    File other = File.createTempFile("chords", ".txt");
+    try {
+      FileOutputStream out = new FileOutputStream(other);
+      out.write("C\nG7\n".getBytes("US-ASCII"));
+      out.close();
+
+      ChordDictionary.open(other);
+    } finally {
+      other.delete();
+    }
+  }
+}
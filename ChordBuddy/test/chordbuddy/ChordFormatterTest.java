@@ -0,0 +1,112 @@
+package chordbuddy;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordFormatterTest {
+
+  @Test
+  public void testGetNotation() {
+    assertEquals("An inferred major chord should need no notation", "", ChordFormatter.getNotation(MusicTheory.ChordQuality.MajInferred));
+    assertEquals("The shortest notation should be used", "maj", ChordFormatter.getNotation(MusicTheory.ChordQuality.Maj));
+    assertEquals("The shortest notation should be used", "-", ChordFormatter.getNotation(MusicTheory.ChordQuality.Min));
+    assertEquals("The shortest notation should be used", "+", ChordFormatter.getNotation(MusicTheory.ChordQuality.Aug));
+    assertEquals("The shortest notation should be used", "sus", ChordFormatter.getNotation(MusicTheory.ChordQuality.Sus4));
+    assertEquals("The shortest notation should be used", "sus2", ChordFormatter.getNotation(MusicTheory.ChordQuality.Sus2));
+  }
+
+  @Test
+  public void testFormat() {
+    String[][] cases = {
+      {"C", "C"},
+      {"g7", "G-7"},
+      {"Eb minor 7 b5", "Eb-7b5"},
+      {"F#MAJOR9", "F#maj9"},
+      {"Bbb13#11", "Bbbadd13#11"},
+      {"Daugmented", "D+"},
+      {"Absus4", "Absus"},
+      {"C#7#9", "C#7#9"},
+      {"Bdiminished7", "Bdim7"},
+      {"c7 / bb", "C-7/Bb"},
+      {"G7b9 /ab", "G7b9/Ab"},
+      {"c\u00f8 7", "C\u00f87"},
+      {"Cm7b5", "C-7b5"},
+      {"Ebmajor13#11", "Ebmaj13#11"},
+      {"Cmaj7add9", "Cmaj9"},
+      {"CMadd9", "Cmajadd9"},
+      {"G7alt", "G7b5#9b13"},
+      {"C7add13", "C7add13"},
+      {"Cadd9", "Cadd9"},
+      {"C9", "Cadd9"},
+      {"C6", "C6"},
+    };
+
+    for (String[] c : cases) {
+      assertEquals("Chords should be written canonically: " + c[0], c[1], Chord.create(c[0]).getSymbol());
+    }
+
+    assertNull("A null chord has no symbol", ChordFormatter.format(null));
+  }
+
+  @Test
+  public void testFormat_addTones() {
+    String[][] cases = {
+      {"Cadd9", "Cadd9"},
+      {"Cmadd11", "C-add11"},
+      {"Cmaj7add13", "Cmaj7add13"},
+      {"Ebmaj9add13", "Ebmaj13"},
+    };
+
+    for (String[] c : cases) {
+      Chord chord = Chord.create(c[0]);
+      assertEquals("An added tone should be written as an add: " + c[0], c[1], chord.getSymbol());
+      assertEquals("The symbol should read back as the same chord: " + c[0], chord.getNotes(), Chord.create(chord.getSymbol()).getNotes());
+    }
+  }
+
+  @Test
+  public void testFormat_ambiguous() {
+    // Note: "C#9" reads as C# with a #9, so C# with a plain 9 needs "add"
+    Chord chord = Chord.create("C9").transpose(Interval.create("A1"));
+
+    assertEquals("A plain 9 on a sharp tonic should be written as an add", "C#add9", chord.getSymbol());
+    assertEquals("The symbol should read back as the same chord", chord.getNotes(), Chord.create(chord.getSymbol()).getNotes());
+  }
+
+  @Test
+  public void testFormat_roundTrip() {
+    int[] expected = new int[Chord.MAX_NOTES];
+    int[] actual = new int[Chord.MAX_NOTES];
+
+    for (String symbol : ChordDictionaryGenerator.enumerate(2, 2)) {
+      Chord chord = Chord.create(symbol);
+      String formatted = chord.getSymbol();
+      Chord reparsed = Chord.create(formatted);
+
+      assertNotNull("A formatted chord should parse: " + symbol + " => " + formatted, reparsed);
+      assertEquals("A formatted chord should keep its tonic: " + symbol, chord.getSpelledTonic(), reparsed.getSpelledTonic());
+
+      int count = chord.spellInto(expected);
+      assertEquals("A formatted chord should spell the same notes: " + symbol, count, reparsed.spellInto(actual));
+      for (int i = 0; i < count; i++) {
+        assertEquals("A formatted chord should spell the same notes: " + symbol, expected[i], actual[i]);
+      }
+
+      assertEquals("Formatting should be idempotent: " + symbol, formatted, reparsed.getSymbol());
+    }
+  }
+
+  @Test
+  public void testAppendNotes() {
+    int[] codes = new int[Chord.MAX_NOTES];
+    int count = Chord.create("Gb7").spellInto(codes);
+
+    StringBuilder sb = new StringBuilder("notes:");
+    ChordFormatter.appendNotes(sb, codes, count, ' ');
+    assertEquals("Notes should be appended with the separator", "notes:Gb Bb Db Fb", sb.toString());
+  }
+}
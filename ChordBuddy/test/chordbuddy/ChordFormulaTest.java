@@ -0,0 +1,93 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordFormulaTest {
+
+  private static String spell(MusicTheory.ChordQuality quality, List<Modifier> modifiers) {
+    int[] scale = MusicTheory.getMajorScaleCodes(SpelledNote.valueOf(MusicTheory.NoteName.C, 0).getCode());
+    int[] buffer = new int[Chord.MAX_NOTES];
+    int count = ChordFormula.create(quality, modifiers).spellInto(scale, buffer);
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      sb.append(i > 0 ? " " : "").append(SpelledNote.fromCode(buffer[i]).getFullName());
+    }
+
+    return sb.toString();
+  }
+
+  private static List<Modifier> modifiers(int... pairs) {
+    List<Modifier> list = new ArrayList<Modifier>();
+    for (int i = 0; i < pairs.length; i += 2) {
+      list.add(new Modifier(pairs[i], pairs[i + 1]));
+    }
+
+    return list;
+  }
+
+  @Test
+  public void testSpellInto_qualities() {
+    List<Modifier> none = Collections.emptyList();
+
+    assertEquals("A plain Maj chord should spell its base tones", "C E G", ChordFormulaTest.spell(MusicTheory.ChordQuality.Maj, none));
+    assertEquals("A plain Min chord should spell its base tones", "C Eb G", ChordFormulaTest.spell(MusicTheory.ChordQuality.Min, none));
+    assertEquals("A plain Dim chord should spell its base tones", "C Eb Gb", ChordFormulaTest.spell(MusicTheory.ChordQuality.Dim, none));
+    assertEquals("A plain HalfDim chord should spell its base tones", "C Eb Gb Bb", ChordFormulaTest.spell(MusicTheory.ChordQuality.HalfDim, none));
+    assertEquals("A plain Aug chord should spell its base tones", "C E G#", ChordFormulaTest.spell(MusicTheory.ChordQuality.Aug, none));
+    assertEquals("A plain Dom chord should spell its base tones", "C E G Bb", ChordFormulaTest.spell(MusicTheory.ChordQuality.Dom, none));
+    assertEquals("A plain Sus2 chord should spell its base tones", "C D G", ChordFormulaTest.spell(MusicTheory.ChordQuality.Sus2, none));
+    assertEquals("A plain Sus4 chord should spell its base tones", "C F G", ChordFormulaTest.spell(MusicTheory.ChordQuality.Sus4, none));
+  }
+
+  @Test
+  public void testSpellTensionsInto() {
+    int[] scale = MusicTheory.getMajorScaleCodes(SpelledNote.valueOf(MusicTheory.NoteName.C, 0).getCode());
+    int[] buffer = new int[Chord.MAX_NOTES];
+
+    ChordFormula ninth = ChordFormula.create(MusicTheory.ChordQuality.Maj, ChordFormulaTest.modifiers(7, 0, 9, 0, 13, 0));
+    assertEquals("Only the tones above the seventh should be tensions", 2, ninth.spellTensionsInto(scale, buffer));
+    assertEquals("The tensions should be spelled from the lowest", "D", SpelledNote.fromCode(buffer[0]).getFullName());
+    assertEquals("The tensions should be spelled from the lowest", "A", SpelledNote.fromCode(buffer[1]).getFullName());
+
+    ChordFormula sixth = ChordFormula.create(MusicTheory.ChordQuality.Min, ChordFormulaTest.modifiers(6, 0));
+    assertEquals("A sixth should not be a tension", 0, sixth.spellTensionsInto(scale, buffer));
+  }
+
+  @Test
+  public void testSpellInto_plainSeventh() {
+    List<Modifier> seventh = ChordFormulaTest.modifiers(7, 0);
+
+    assertEquals("A plain 7 on a major chord should be major", "C E G B", ChordFormulaTest.spell(MusicTheory.ChordQuality.Maj, seventh));
+    assertEquals("A plain 7 on an inferred major chord should be minor", "C E G Bb", ChordFormulaTest.spell(MusicTheory.ChordQuality.MajInferred, seventh));
+    assertEquals("A plain 7 on a minor chord should be minor", "C Eb G Bb", ChordFormulaTest.spell(MusicTheory.ChordQuality.Min, seventh));
+    assertEquals("A plain 7 on a diminished chord should be diminished", "C Eb Gb Bbb", ChordFormulaTest.spell(MusicTheory.ChordQuality.Dim, seventh));
+    assertEquals("A plain 7 on a dominant chord should leave its seventh", "C E G Bb", ChordFormulaTest.spell(MusicTheory.ChordQuality.Dom, seventh));
+  }
+
+  @Test
+  public void testSpellInto_modifiers() {
+    assertEquals("Modifiers should add and alter tones in degree order", "C E G# Bb D#",
+            ChordFormulaTest.spell(MusicTheory.ChordQuality.MajInferred, ChordFormulaTest.modifiers(9, 1, 7, 0, 5, 1)));
+    assertEquals("Later modifiers should override earlier ones on the same degree", "C E G Bb Db",
+            ChordFormulaTest.spell(MusicTheory.ChordQuality.Dom, ChordFormulaTest.modifiers(9, 1, 9, -1)));
+    assertEquals("Modifiers past the highest degree should be ignored", "C E G",
+            ChordFormulaTest.spell(MusicTheory.ChordQuality.Maj, ChordFormulaTest.modifiers(Chord.MAX_DEGREE + 1, 0)));
+  }
+
+  @Test
+  public void testCreate_shared() {
+    List<Modifier> none = Collections.emptyList();
+
+    assertSame("Chords without modifiers should share their quality's formula",
+            ChordFormula.create(MusicTheory.ChordQuality.Min, none), ChordFormula.create(MusicTheory.ChordQuality.Min, none));
+  }
+}
@@ -0,0 +1,77 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordIndexTest {
+
+  private static List<Note> notes(String... symbols) {
+    List<Note> notes = new ArrayList<Note>();
+    for (String symbol : symbols) {
+      notes.add(Note.create(symbol));
+    }
+
+    return notes;
+  }
+
+  @Test
+  public void testLookup_spelled() {
+    ChordIndex index = ChordIndex.getDefault();
+
+    assertEquals("The plainest symbol should rank first", "C", index.lookup(notes("C", "E", "G")).get(0));
+    assertEquals("Note order should not matter", "C7", index.lookup(notes("Bb", "G", "E", "C")).get(0));
+    assertEquals("Shorter symbols should rank first", "Gb6", index.lookup(notes("Eb", "Gb", "Bb", "Db")).get(0));
+    assertTrue("Every root of the notes should be offered", index.lookup(notes("Eb", "Gb", "Bb", "Db")).contains("Eb-7"));
+    assertTrue("Unknown note sets have no candidates", index.lookup(notes("C", "Db", "D")).isEmpty());
+  }
+
+  @Test
+  public void testLookup_spelledIsExact() {
+    List<String> symbols = ChordIndex.getDefault().lookup(notes("A", "C", "E", "G"));
+
+    assertTrue("Every root of the notes should be offered", symbols.contains("C6") && symbols.contains("A-7"));
+    assertFalse("Enharmonic spellings should not match", symbols.contains("B#6"));
+  }
+
+  @Test
+  public void testLookup_pitchClasses() {
+    ChordIndex index = ChordIndex.getDefault();
+    List<String> symbols = index.lookup(Chord.create("F#").getPitchClassSet());
+
+    assertTrue("Enharmonic spellings should all match", symbols.contains("F#") && symbols.contains("Gb"));
+    assertEquals("Looking up by bits should match looking up by set", symbols, index.lookupPitchClasses(Chord.create("Gb").getPitchClassSet().getBits()));
+  }
+
+  @Test
+  public void testLookup_deduplicated() {
+    List<String> symbols = ChordIndex.getDefault().lookup(notes("C", "E", "G", "Bb"));
+
+    assertTrue("The best ranked spelling should be listed", symbols.contains("C7"));
+    assertFalse("Symbols spelling the same chord should be listed once", symbols.contains("Cdom"));
+  }
+
+  @Test
+  public void testLookup_everySymbolFindsItself() {
+    ChordIndex index = new ChordIndex(0, 1);
+    String[] symbols = {"G7", "D-9", "Bdim", "Asus2", "E+7", "F13#11"};
+
+    for (String symbol : symbols) {
+      Chord chord = Chord.create(symbol);
+      List<String> candidates = index.lookup(chord.getSpelledNoteSet());
+      assertFalse("A chord should find at least one symbol: " + symbol, candidates.isEmpty());
+      assertEquals("Candidates should spell the chord: " + symbol,
+              chord.getSpelledNoteSet(), Chord.create(candidates.get(0)).getSpelledNoteSet());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructor_invalid() {
+    new ChordIndex(0, -1);
+  }
+}
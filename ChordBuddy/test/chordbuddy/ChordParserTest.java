@@ -0,0 +1,114 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordParserTest {
+
+  private static List<String> createSymbols(int count) {
+    String[] vocabulary = {"G7", "Cmaj7", "F#-7b5", "badchord", "Bb13#11", null, "E b b dim", "", "Daug b9 #11"};
+
+    List<String> symbols = new ArrayList<String>(count);
+    for (int i = 0; i < count; i++) {
+      symbols.add(vocabulary[i % vocabulary.length]);
+    }
+
+    return symbols;
+  }
+
+  private static void assertResults(List<String> symbols, List<ParseResult> results) {
+    assertEquals("There should be one result per symbol", symbols.size(), results.size());
+
+    for (int i = 0; i < symbols.size(); i++) {
+      String symbol = symbols.get(i);
+      ParseResult result = results.get(i);
+      String msg = String.format("Results should be returned in input order: %d, '%s'", i, symbol);
+
+      assertEquals(msg, i, result.getIndex());
+      assertEquals(msg, symbol, result.getSymbol());
+      assertEquals(msg, Chord.isValidSymbol(symbol), result.isSuccess());
+
+      if (result.isSuccess()) {
+        assertEquals(msg, Chord.create(symbol).getNotes(), result.getChord().getNotes());
+        assertNull(msg, result.getError());
+      } else {
+        assertNull(msg, result.getChord());
+        assertNotNull(msg, result.getError());
+      }
+    }
+  }
+
+  @Test
+  public void testParseAll_empty() {
+    List<ParseResult> results = new ChordParser().parseAll(new ArrayList<String>());
+    assertTrue("An empty batch should return no results", results.isEmpty());
+  }
+
+  @Test
+  public void testParseAll_sequential() {
+    List<String> symbols = createSymbols(100);
+    assertResults(symbols, new ChordParser().parseAll(symbols));
+  }
+
+  @Test
+  public void testParseAll_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      List<String> symbols = createSymbols(10000);
+      assertResults(symbols, new ChordParser(executor, 4, 37).parseAll(symbols));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testParseAll_rejected() {
+    ExecutorService executor = Executors.newFixedThreadPool(1);
+    executor.shutdown();
+
+    List<ParseResult> results = new ChordParser(executor, 2, 3).parseAll(createSymbols(10));
+    assertEquals("A rejected batch should still return one result per symbol", 10, results.size());
+    for (ParseResult result : results) {
+      assertFalse("A rejected batch should report failures", result.isSuccess());
+    }
+  }
+
+  @Test
+  public void testParse_lazy() {
+    final List<String> drawn = new ArrayList<String>();
+    final Iterator<String> source = createSymbols(1000).iterator();
+
+    Iterator<String> symbols = new Iterator<String>() {
+
+      public boolean hasNext() {
+        return source.hasNext();
+      }
+
+      public String next() {
+        String symbol = source.next();
+        drawn.add(symbol);
+        return symbol;
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+
+    Iterator<ParseResult> results = new ChordParser(null, 2, 10).parse(symbols);
+    assertTrue("A lazy parse should produce results", results.hasNext());
+    results.next();
+
+    assertEquals("A lazy parse should only read ahead a bounded number of symbols", 20, drawn.size());
+  }
+}
@@ -0,0 +1,103 @@
+package chordbuddy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordServerTest {
+
+  private ExecutorService executor;
+  private ChordServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    this.executor = Executors.newFixedThreadPool(2);
+    this.server = new ChordServer(new InetSocketAddress("127.0.0.1", 0), this.executor);
+    this.server.start();
+  }
+
+  @After
+  public void tearDown() {
+    this.server.stop(0);
+    this.executor.shutdown();
+  }
+
+  private String request(String method, String path, String body, int expectedStatus) throws IOException {
+    URL url = new URL("http", "127.0.0.1", this.server.getPort(), path);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod(method);
+
+    if (body != null) {
+      connection.setDoOutput(true);
+      OutputStream out = connection.getOutputStream();
+      out.write(body.getBytes("UTF-8"));
+      out.close();
+    }
+
+    assertEquals(String.format("Unexpected status for %s %s", method, path), expectedStatus, connection.getResponseCode());
+
+    InputStream in = expectedStatus < 400 ? connection.getInputStream() : connection.getErrorStream();
+    ByteArrayOutputStream response = new ByteArrayOutputStream();
+    if (in != null) {
+      byte[] buffer = new byte[1024];
+      int read;
+      while ((read = in.read(buffer)) > 0) {
+        response.write(buffer, 0, read);
+      }
+      in.close();
+    }
+
+    return response.toString("UTF-8");
+  }
+
+  @Test
+  public void testChord_get() throws IOException {
+    String expected = "{\"line\":1,\"symbol\":\"Eb+\",\"notes\":[\"Eb\",\"G\",\"B\"]}\n";
+    assertEquals("A single chord can be spelled from the query string", expected, this.request("GET", "/chord?symbol=Eb%2B", null, 200));
+  }
+
+  @Test
+  public void testChord_batch() throws IOException {
+    String expected =
+            "1\tok\tG7\tG B D F\n" +
+            "3\terror\tH7\tInvalid chord symbol\n";
+    assertEquals("Many chords can be spelled from one body", expected, this.request("POST", "/chord?format=tsv", "G7\n\nH7\n", 200));
+  }
+
+  @Test
+  public void testChord_missingSymbol() throws IOException {
+    this.request("GET", "/chord", null, 400);
+    this.request("GET", "/chord?symbol=C&format=xml", null, 400);
+  }
+
+  @Test
+  public void testScale() throws IOException {
+    String expected = "{\"tonic\":\"F\",\"scale\":[\"F\",\"G\",\"A\",\"Bb\",\"C\",\"D\",\"E\"]}\n";
+    assertEquals("A major scale can be looked up", expected, this.request("GET", "/scale?tonic=F", null, 200));
+
+    String batch = this.request("POST", "/scale", "E\nX\n", 200);
+    assertTrue("Invalid tonics should be reported per line", batch.endsWith("{\"tonic\":\"X\",\"error\":\"Invalid note symbol\"}\n"));
+  }
+
+  @Test
+  public void testStats() throws IOException {
+    this.request("GET", "/chord?symbol=C", null, 200);
+
+    assertEquals("Requests should be timed per endpoint", 1, this.server.getHistogram("/chord").getCount());
+    assertTrue("Statistics should list each endpoint", this.request("GET", "/stats", null, 200).contains("/chord\tcount=1"));
+  }
+}
@@ -53,6 +53,65 @@ public class ChordTest {
     sharpChar = '#';
   }
 
+  @Test
+  public void testCreate_null() {
+    assertEquals("A null symbol should return a null chord", null, Chord.create(null));
+  }
+
+  @Test
+  public void testCreate_invalid() {
+    Set<String> symbols = new HashSet<String>();
+    symbols.add("");
+    symbols.add(" \t ");
+    symbols.add("badchord");
+    symbols.add("Cb#b9");
+    symbols.add("Emin0");
+    symbols.add("Bmaj7sharp11");
+    symbols.add("C75");
+    symbols.add("C1b9");
+
+    for (String symbol : symbols) {
+      assertEquals(String.format("An invalid symbol should return a null chord: '%s'", symbol), null, Chord.create(symbol));
+    }
+  }
+
+  @Test
+  public void testCreate_matchesSymbolAccessors() {
+    List<String> symbols = new ArrayList<String>();
+    String[] accidentals = {"", "b", "bb", "#", "##"};
+    String[] suffixes = {"", "7", "5", "b5", "b7", "#7", "9", "b9", "7b5", "6##9bb13", "13#11", "11b9", "1 3", "#b9", "75", "/E", "7/bb", "b5/F#", "/", "/H", "9/E/G"};
+
+    for (String tonic : tonics) {
+      for (String accidental : accidentals) {
+        for (String quality : qualities) {
+          for (String suffix : suffixes) {
+            symbols.add(tonic + accidental + quality + suffix);
+            symbols.add(tonic.toLowerCase() + accidental + quality.toUpperCase() + suffix);
+          }
+        }
+        for (String suffix : suffixes) {
+          symbols.add(tonic + accidental + suffix);
+          symbols.add(" " + tonic.toLowerCase() + " " + accidental + "\t" + suffix + " ");
+        }
+      }
+    }
+
+    for (String symbol : symbols) {
+      Chord chord = Chord.create(symbol);
+
+      if (!Chord.isValidSymbol(symbol)) {
+        assertEquals(String.format("An invalid symbol should not create a chord: '%s'", symbol), null, chord);
+        continue;
+      }
+
+      String msg = String.format("A chord should be parsed identically to the symbol accessors: '%s'", symbol);
+      assertEquals(msg, Chord.getSymbolTonic(symbol), chord.getTonic());
+      assertEquals(msg, Chord.getSymbolQuality(symbol), chord.getQuality());
+      assertEquals(msg, Chord.getSymbolModifiers(symbol), chord.getModifiers());
+      assertEquals(msg, Chord.getSymbolBass(symbol), chord.getBass());
+    }
+  }
+
   @Test
   public void testIsValidSymbol_null() {
     assertTrue("A null string is not a valid chord symbol", !Chord.isValidSymbol(null));
@@ -662,4 +721,174 @@ public class ChordTest {
     String msg = "A sus2 chord should return the correct chord tones";
     assertEquals(msg, expected, actual);
   }
+
+  @Test
+  public void testSpellInto() {
+    int[] expected = {
+      SpelledNote.valueOf(MusicTheory.NoteName.F, 1).getCode(),
+      SpelledNote.valueOf(MusicTheory.NoteName.A, 0).getCode(),
+      SpelledNote.valueOf(MusicTheory.NoteName.C, 0).getCode(),
+      SpelledNote.valueOf(MusicTheory.NoteName.E, 0).getCode(),
+    };
+
+    int[] buffer = new int[Chord.MAX_NOTES];
+    int count = Chord.create("F#-7b5").spellInto(buffer);
+
+    assertEquals("Spelling into a buffer should report the number of chord tones", expected.length, count);
+    for (int i = 0; i < count; i++) {
+      assertEquals("Spelling into a buffer should write chord tones in degree order", expected[i], buffer[i]);
+    }
+  }
+
+  @Test
+  public void testSpellInto_reusedBuffer() {
+    int[] buffer = new int[Chord.MAX_NOTES];
+
+    for (String symbol : new String[]{"C13#11b9", "Dbsus2", "E", "Gdim7", "Ab+7#9"}) {
+      int count = Chord.create(symbol).spellInto(buffer);
+
+      List<Note> actual = new ArrayList<Note>();
+      for (int i = 0; i < count; i++) {
+        actual.add(Note.create(SpelledNote.fromCode(buffer[i])));
+      }
+
+      assertEquals(String.format("A reused buffer should spell the same tones as getNotes: '%s'", symbol), Chord.create(symbol).getNotes(), actual);
+    }
+  }
+
+  @Test
+  public void testTranspose() {
+    Chord chord = Chord.create("Bb-7b5");
+    Chord transposed = chord.transpose(Interval.create("M3"));
+
+    assertEquals("Transposing should move the tonic", "D", transposed.getSpelledTonic().getFullName());
+    assertEquals("Transposing should keep the quality", chord.getQuality(), transposed.getQuality());
+    assertEquals("Transposing should keep the modifiers", chord.getModifiers(), transposed.getModifiers());
+    assertEquals("Transposing should spell like parsing", Chord.create("D-7b5").getNotes(), transposed.getNotes());
+    assertSame("Transposing by a unison should change nothing", chord, chord.transpose(Interval.UNISON));
+  }
+
+  @Test
+  public void testCreate_charSequence() {
+    StringBuilder text = new StringBuilder("| Eb - 7 b5 | A7 |");
+
+    assertEquals("A slice of text should parse like the same String", Chord.create("Eb-7b5").getNotes(), Chord.create(text, 1, 12).getNotes());
+    assertEquals("A slice of text should parse like the same String", Chord.create("A7").getNotes(), Chord.create(text, 13, 17).getNotes());
+    assertNull("The slice should end where it is told to", Chord.create(text, 1, 13));
+    assertNull("An empty slice is not a chord", Chord.create(text, 3, 3));
+    assertNotNull("A whole CharSequence should parse", Chord.create(new StringBuilder("G7")));
+    assertNull("A null CharSequence should return a null chord", Chord.create((CharSequence) null));
+  }
+
+  @Test
+  public void testCreate_charArray() {
+    char[] buffer = "xxC#maj9yy".toCharArray();
+
+    assertEquals("A char range should parse like the same String", Chord.create("C#maj9").getNotes(), Chord.create(buffer, 2, 6).getNotes());
+    assertNull("Chars outside the symbol should not be skipped", Chord.create(buffer, 0, 6));
+    assertNull("A null char array should return a null chord", Chord.create((char[]) null, 0, 0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testCreate_charArrayOutOfBounds() {
+    Chord.create("C7".toCharArray(), 1, 2);
+  }
+
+  @Test
+  public void testIsValidSymbol_charSequence() {
+    assertTrue("A CharSequence should be validated like a String", Chord.isValidSymbol(new StringBuilder("Bb13#11")));
+    assertFalse("A CharSequence should be validated like a String", Chord.isValidSymbol(new StringBuilder("Bb13#12")));
+  }
+
+  private static List<Note> notes(String... symbols) {
+    List<Note> notes = new ArrayList<Note>();
+    for (String symbol : symbols) {
+      notes.add(Note.create(symbol));
+    }
+
+    return notes;
+  }
+
+  @Test
+  public void testCreate_slashChords() {
+    Chord chord = Chord.create("A-7/G");
+
+    assertEquals("The tonic should be read before the slash", Note.create("A"), chord.getTonic());
+    assertEquals("The quality should be read before the slash", MusicTheory.ChordQuality.Min, chord.getQuality());
+    assertEquals("The bass should be read after the slash", Note.create("G"), chord.getBass());
+    assertNull("A chord without a slash has no bass", Chord.create("A-7").getBass());
+    assertEquals("Whitespace is ignored around the slash", Note.create("Bb"), Chord.create("C7 / Bb").getBass());
+    assertEquals("The tonic's accidentals are read as without a bass", Chord.create("Cb5").getNotes().size() + 1, Chord.create("Cb5/D").getNotes().size());
+
+    assertNull("A slash must be followed by a bass", Chord.create("C/"));
+    assertNull("A chord has at most one bass", Chord.create("C/E/G"));
+    assertNull("A bass needs a chord above it", Chord.create("/E"));
+    assertNull("A bass is a single note", Chord.create("C/E7"));
+    assertFalse("A bass is a single note", Chord.isValidSymbol("C/Eb5"));
+  }
+
+  @Test
+  public void testGetNotes_inversions() {
+    String msg = "An inversion should be ordered from its bass";
+    assertEquals(msg, notes("E", "G", "C"), Chord.create("C/E").getNotes());
+    assertEquals(msg, notes("G", "C", "E"), Chord.create("C/G").getNotes());
+    assertEquals(msg, notes("Bb", "C", "E", "G"), Chord.create("C7/Bb").getNotes());
+    assertEquals(msg, notes("C", "E", "G"), Chord.create("C/C").getNotes());
+  }
+
+  @Test
+  public void testGetNotes_foreignBass() {
+    String msg = "A bass that is not a chord tone should be added below the chord";
+    assertEquals(msg, notes("D", "C", "E", "G"), Chord.create("C/D").getNotes());
+    assertEquals(msg, notes("G", "F", "A", "C", "E"), Chord.create("Fmaj7/G").getNotes());
+    assertEquals("The bass is matched by spelling, not pitch", notes("Fb", "C", "E", "G"), Chord.create("C/Fb").getNotes());
+    assertEquals(msg, Chord.create("C13").getNotes().size() + 1, Chord.create("C13/Db").getNotes().size());
+  }
+
+  @Test
+  public void testTranspose_slashChord() {
+    Chord chord = Chord.create("D-7/C").transpose(Interval.create("m3"));
+
+    assertEquals("Transposing should move the tonic", Note.create("F"), chord.getTonic());
+    assertEquals("Transposing should move the bass", Note.create("Eb"), chord.getBass());
+    assertEquals("Transposing should spell like parsing", notes("Eb", "F", "Ab", "C"), chord.getNotes());
+  }
+
+  @Test
+  public void testGetNotes_extendedVocabulary() {
+    String msg = "An extended vocabulary symbol should return the correct chord tones";
+    assertEquals(msg, notes("C", "E", "G", "D"), Chord.create("Cadd9").getNotes());
+    assertEquals(msg, notes("C", "Eb", "G", "D"), Chord.create("Cmadd9").getNotes());
+    assertEquals(msg, notes("C", "Eb", "G"), Chord.create("Cm").getNotes());
+    assertEquals(msg, notes("C", "E", "G", "B"), Chord.create("CM7").getNotes());
+    assertEquals(msg, notes("C", "Eb", "Gb", "Bb"), Chord.create("Cm7b5").getNotes());
+    assertEquals(msg, notes("C", "Eb", "Gb", "Bb"), Chord.create("C\u00f87").getNotes());
+    assertEquals(msg, notes("C", "Eb", "Gb", "Bb"), Chord.create("C\u00f8").getNotes());
+    assertEquals(msg, notes("C", "E", "Gb", "Bb", "D#", "Ab"), Chord.create("C7alt").getNotes());
+    assertEquals(msg, notes("C", "E", "G", "B", "D"), Chord.create("Cmaj9").getNotes());
+    assertEquals(msg, notes("C", "E", "G", "B", "D", "F"), Chord.create("CMajor11").getNotes());
+    assertEquals(msg, notes("C", "E", "G", "B", "D", "F#", "A"), Chord.create("Cmaj13#11").getNotes());
+    assertEquals(msg, notes("C", "E", "G", "B", "D"), Chord.create("CM9").getNotes());
+  }
+
+  @Test
+  public void testCreate_extendedVocabulary() {
+    assertEquals("The half-diminished sign should give its quality", MusicTheory.ChordQuality.HalfDim, Chord.create("F#\u00f87").getQuality());
+    assertEquals("A lowercase m should read as minor", MusicTheory.ChordQuality.Min, Chord.create("Bbm7").getQuality());
+    assertEquals("An uppercase M should read as major", MusicTheory.ChordQuality.Maj, Chord.create("BbM7").getQuality());
+    assertEquals("Suffixes ignore case", Chord.create("G7alt").getNotes(), Chord.create("G7ALT").getNotes());
+    assertEquals("Implied modifiers should match the regex path", Chord.getSymbolModifiers("Cmaj13#11"), Chord.create("Cmaj13#11").getModifiers());
+    assertEquals("Suffix modifiers should match the regex path", Chord.getSymbolModifiers("C7alt/E"), Chord.create("C7alt/E").getModifiers());
+
+    assertNull("An add needs a degree", Chord.create("Cadd"));
+    assertNull("Only listed suffixes are accepted", Chord.create("Cadd7"));
+    assertNull("Extensions must come before suffixes", Chord.create("Calt7"));
+    assertFalse("An add needs a degree", Chord.isValidSymbol("Cadd"));
+    assertFalse("Only listed suffixes are accepted", Chord.isValidSymbol("Cadd7"));
+    assertNull("No extension may follow a notation that carries one", Chord.create("Cmaj913"));
+    assertNull("No extension may follow a notation that carries one", Chord.create("CM97"));
+    assertFalse("No extension may follow a notation that carries one", Chord.isValidSymbol("Cmaj913"));
+    assertFalse("No extension may follow a notation that carries one", Chord.isValidSymbol("CM97"));
+    assertNotNull("Altered tones may follow a notation that carries an extension", Chord.create("Cmaj9#11"));
+  }
 }
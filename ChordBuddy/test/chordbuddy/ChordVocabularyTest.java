@@ -0,0 +1,71 @@
+package chordbuddy;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ChordVocabularyTest {
+
+  @Test
+  public void testFindQuality() {
+    assertEquals("Notations should ignore case by default", MusicTheory.ChordQuality.Maj, ChordVocabulary.findQuality("MAJ").Quality);
+    assertEquals("A lowercase m should be minor", MusicTheory.ChordQuality.Min, ChordVocabulary.findQuality("m").Quality);
+    assertEquals("Case sensitive notations should only match exactly", MusicTheory.ChordQuality.Maj, ChordVocabulary.findQuality("M").Quality);
+    assertEquals("Major extensions should imply the major seventh", Arrays.asList(new Modifier(7, 0), new Modifier(9, 0), new Modifier(13, 0)), ChordVocabulary.findQuality("Maj13").Modifiers);
+    assertNull("Suffixes are not qualities", ChordVocabulary.findQuality("add9"));
+    assertNull("An empty notation is not listed", ChordVocabulary.findQuality(""));
+    assertNull("A null notation is not listed", ChordVocabulary.findQuality(null));
+  }
+
+  @Test
+  public void testFindSuffix() {
+    assertEquals("Suffixes should ignore case and stand for their modifiers", Arrays.asList(new Modifier(9, 0)), ChordVocabulary.findSuffix("ADD9").Modifiers);
+    assertNotNull("Listed suffixes should be found", ChordVocabulary.findSuffix("alt"));
+    assertNull("Qualities are not suffixes", ChordVocabulary.findSuffix("maj"));
+  }
+
+  @Test
+  public void testNotations_longestFirst() {
+    for (int i = 1; i < ChordVocabulary.qualityNotations.size(); i++) {
+      assertTrue("Quality notations should be ordered longest first",
+              ChordVocabulary.qualityNotations.get(i - 1).Notation.length() >= ChordVocabulary.qualityNotations.get(i).Notation.length());
+    }
+  }
+
+  @Test
+  public void testSuffixNotations_wellFormed() {
+    for (ChordVocabulary.Entry a : ChordVocabulary.suffixNotations) {
+      char c = a.Notation.charAt(0);
+      assertFalse("A suffix must not start with an accidental or digit: " + a,
+              c == MusicTheory.notationFlatChar || c == MusicTheory.notationSharpChar || Character.isDigit(c));
+      assertNull("A suffix has no quality: " + a, a.Quality);
+
+      for (ChordVocabulary.Entry b : ChordVocabulary.suffixNotations) {
+        assertTrue("A suffix must not be a prefix of another: " + a + ", " + b,
+                a == b || !b.Notation.toLowerCase().startsWith(a.Notation.toLowerCase()));
+      }
+    }
+  }
+
+  @Test
+  public void testGetRegex() {
+    Pattern pattern = Pattern.compile("(?i)(?:" + ChordVocabulary.getRegex(ChordVocabulary.qualityNotations) + ")");
+
+    for (ChordVocabulary.Entry entry : ChordVocabulary.qualityNotations) {
+      assertTrue("The regex should accept every notation: " + entry, pattern.matcher(entry.Notation).matches());
+    }
+    assertTrue("Case insensitive notations should match in any case", pattern.matcher("MaJoR").matches());
+    assertTrue("Case sensitive notations should match exactly", pattern.matcher("M9").matches());
+    assertFalse("Case sensitive notations should keep their case in the regex", pattern.matcher("m9").matches());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testQualityNotations_unmodifiable() {
+    ChordVocabulary.qualityNotations.clear();
+  }
+}
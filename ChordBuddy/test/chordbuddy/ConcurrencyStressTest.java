@@ -0,0 +1,165 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Hammers parsing, spelling and the shared tables from many threads at once
+ * and checks every result against one computed on a single thread.
+ *
+ * @author Ryan
+ */
+public class ConcurrencyStressTest {
+
+  private static final int threadCount = 8;
+  private static final int iterations = 10000;
+
+  private static String[] symbols;
+  private static String[] expectedNotes;
+  private static String[] expectedSymbols;
+
+  @BeforeClass
+  public static void setUpClass() {
+    List<String> all = new ArrayList<String>(ChordDictionaryGenerator.enumerate(1, 1));
+    all.add("H7");
+    all.add("Cmaj7x");
+    all.add("c-7");
+    all.add("  Eb  minor 9 ");
+
+    symbols = all.toArray(new String[all.size()]);
+    expectedNotes = new String[symbols.length];
+    expectedSymbols = new String[symbols.length];
+    for (int i = 0; i < symbols.length; i++) {
+      Chord chord = Chord.create(symbols[i]);
+      expectedNotes[i] = chord == null ? null : chord.getNotes().toString();
+      expectedSymbols[i] = chord == null ? null : chord.getSymbol();
+    }
+  }
+
+  /**
+   * A unit of work run by every thread; i is a per-thread pseudo random
+   * index.
+   */
+  private interface Task {
+
+    void run(int i);
+  }
+
+  private static void runConcurrently(final Task task) throws InterruptedException {
+    final CountDownLatch start = new CountDownLatch(1);
+    final Queue<Throwable> failures = new ConcurrentLinkedQueue<Throwable>();
+    Thread[] threads = new Thread[threadCount];
+
+    for (int t = 0; t < threadCount; t++) {
+      final int seed = t * 7919 + 1;
+      threads[t] = new Thread(new Runnable() {
+
+        public void run() {
+          try {
+            start.await();
+
+            int x = seed;
+            for (int n = 0; n < iterations && failures.isEmpty(); n++) {
+              // Note: A cheap xorshift keeps the threads on different symbols
+              x ^= x << 13;
+              x ^= x >>> 17;
+              x ^= x << 5;
+              task.run((x & 0x7FFFFFFF) % symbols.length);
+            }
+          } catch (Throwable e) {
+            failures.add(e);
+          }
+        }
+      });
+      threads[t].start();
+    }
+
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    if (!failures.isEmpty()) {
+      Throwable failure = failures.peek();
+      if (failure instanceof AssertionError) {
+        throw (AssertionError) failure;
+      }
+      throw new AssertionError(failure);
+    }
+  }
+
+  @Test
+  public void testCreate() throws InterruptedException {
+    runConcurrently(new Task() {
+
+      public void run(int i) {
+        Chord chord = Chord.create(symbols[i]);
+        assertEquals(symbols[i], expectedNotes[i], chord == null ? null : chord.getNotes().toString());
+        assertEquals(symbols[i], expectedSymbols[i], chord == null ? null : chord.getSymbol());
+      }
+    });
+  }
+
+  @Test
+  public void testSymbolAccessors() throws InterruptedException {
+    runConcurrently(new Task() {
+
+      public void run(int i) {
+        Chord chord = Chord.create(symbols[i]);
+        if (chord == null) {
+          assertFalse(symbols[i], Chord.isValidSymbol(symbols[i]));
+          return;
+        }
+
+        assertEquals(symbols[i], chord.getTonic(), Chord.getSymbolTonic(symbols[i]));
+        assertEquals(symbols[i], chord.getQuality(), Chord.getSymbolQuality(symbols[i]));
+        assertEquals(symbols[i], chord.getModifiers(), Chord.getSymbolModifiers(symbols[i]));
+      }
+    });
+  }
+
+  @Test
+  public void testSharedCache() throws InterruptedException {
+    // Note: Far fewer entries than symbols, so threads also race on eviction
+    final ChordCache cache = new ChordCache(256, 4);
+
+    runConcurrently(new Task() {
+
+      public void run(int i) {
+        List<Note> notes = cache.getNotes(symbols[i]);
+        assertEquals(symbols[i], expectedNotes[i], notes == null ? null : notes.toString());
+      }
+    });
+  }
+
+  @Test
+  public void testSharedValues() throws InterruptedException {
+    final Chord[] chords = new Chord[symbols.length];
+    for (int i = 0; i < symbols.length; i++) {
+      chords[i] = Chord.create(symbols[i]);
+    }
+    final ProgressionTransposer up = new ProgressionTransposer(Interval.create("m3"));
+    final ProgressionTransposer down = new ProgressionTransposer(Interval.create("-m3"));
+
+    runConcurrently(new Task() {
+
+      public void run(int i) {
+        if (chords[i] == null) {
+          return;
+        }
+
+        Chord moved = down.transpose(up.transpose(chords[i]));
+        assertEquals(symbols[i], expectedNotes[i], moved.getNotes().toString());
+        assertEquals(symbols[i], expectedNotes[i], chords[i].getSpelledNotes().toString());
+        assertEquals(symbols[i], MusicTheory.spellMajorScale(chords[i].getSpelledTonic()),
+                MusicTheory.spellMajorScale(moved.getSpelledTonic()));
+      }
+    });
+  }
+}
@@ -0,0 +1,72 @@
+package chordbuddy;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class IntervalTest {
+
+  @Test
+  public void testCreate() {
+    assertEquals("Intervals should be read by name: P1", new Interval(0, 0), Interval.create("P1"));
+    assertEquals("Intervals should be read by name: m3", new Interval(2, 3), Interval.create("m3"));
+    assertEquals("Intervals should be read by name: A4", new Interval(3, 6), Interval.create("A4"));
+    assertEquals("Intervals should be read by name: d5", new Interval(4, 6), Interval.create("d5"));
+    assertEquals("Intervals should be read by name: d7", new Interval(6, 9), Interval.create("d7"));
+    assertEquals("Intervals should be read by name: P8", new Interval(7, 12), Interval.create("P8"));
+    assertEquals("Intervals should be read by name: M13", new Interval(12, 21), Interval.create("M13"));
+    assertEquals("Whitespace should be allowed in names: - P5", new Interval(-4, -7), Interval.create(" - P5"));
+  }
+
+  @Test
+  public void testCreate_invalid() {
+    String[] names = {null, "", "-", "P", "3", "M4", "P3", "m5", "X3", "P0", "M-3", "m3x"};
+    for (String name : names) {
+      assertNull("An invalid interval should return null: " + name, Interval.create(name));
+    }
+  }
+
+  @Test
+  public void testGetName() {
+    String[] names = {"P1", "m2", "M3", "A4", "d5", "m6", "d7", "P8", "M9", "-m3", "-P5"};
+    for (String name : names) {
+      assertEquals("Names should round trip", name, Interval.create(name).getName());
+    }
+
+    assertEquals("A descending semitone on the same letter is an augmented unison", "-A1", new Interval(0, -1).getName());
+    assertNull("Triply augmented intervals have no name", new Interval(2, 7).getName());
+    assertEquals("Intervals without a name should print their steps and semitones", "(2, 7)", new Interval(2, 7).toString());
+  }
+
+  @Test
+  public void testBetween() {
+    SpelledNote c = SpelledNote.valueOf(MusicTheory.NoteName.C, 0);
+
+    assertEquals("C up to Eb is a minor third", Interval.create("m3"), Interval.between(c, SpelledNote.valueOf(MusicTheory.NoteName.E, -1)));
+    assertEquals("C up to B# is an augmented seventh", Interval.create("A7"), Interval.between(c, SpelledNote.valueOf(MusicTheory.NoteName.B, 1)));
+    assertEquals("E up to C is a minor sixth", Interval.create("m6"), Interval.between(SpelledNote.valueOf(MusicTheory.NoteName.E, 0), c));
+    assertNull("A null note has no interval", Interval.between(null, c));
+  }
+
+  @Test
+  public void testTranspose_roundTrip() {
+    String[] names = {"m2", "M3", "P4", "A4", "d5", "M6", "m7", "M9"};
+
+    for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+      for (int quality = -2; quality <= 2; quality++) {
+        int code = SpelledNote.pack(letter.ordinal(), quality);
+        for (String name : names) {
+          Interval interval = Interval.create(name);
+          int up = interval.transpose(code);
+
+          assertEquals("Transposing down should undo transposing up", code, interval.negate().transpose(up));
+          assertEquals("The interval between a note and its transposition should be the interval", interval.Semitones % 12,
+                  Interval.between(SpelledNote.fromCode(code), SpelledNote.fromCode(up)).Semitones);
+        }
+      }
+    }
+  }
+}
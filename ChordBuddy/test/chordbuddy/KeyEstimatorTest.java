@@ -0,0 +1,109 @@
+package chordbuddy;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class KeyEstimatorTest {
+
+  private static KeyEstimator.Estimate estimate(int windowSize, String... symbols) {
+    KeyEstimator estimator = new KeyEstimator(windowSize);
+    for (String symbol : symbols) {
+      estimator.add(Chord.create(symbol));
+    }
+
+    return estimator.getEstimate();
+  }
+
+  @Test
+  public void testKeys() {
+    assertEquals("Every major and minor key should be scored", 24, KeyEstimator.keys.size());
+    for (KeyEstimator.Estimate key : KeyEstimator.keys) {
+      assertEquals("A key's scale should start on its tonic: " + key, key.Tonic, key.getScale().get(0));
+    }
+  }
+
+  @Test
+  public void testGetEstimate() {
+    assertEquals("A I-IV-V-I should be heard in its major key", "C major",
+            KeyEstimatorTest.estimate(8, "C", "F", "G7", "C").toString());
+    assertEquals("A i-iv-V-i should be heard in its minor key", "A minor",
+            KeyEstimatorTest.estimate(8, "Amin", "Dmin", "E7", "Amin").toString());
+    assertEquals("A ii-V-I should be heard in its major key", "Eb major",
+            KeyEstimatorTest.estimate(8, "Fmin7", "Bb7", "Ebmaj7").toString());
+    assertEquals("A i-iv-V-i should be heard in its minor key", "F# minor",
+            KeyEstimatorTest.estimate(8, "F#-", "Bmin", "C#7", "F#-").toString());
+
+    // Note: Chords with more tones must not drift toward the minor profile,
+    //       which carries more raw weight than the major one
+    assertEquals("Seventh chords should not pull the key toward minor", "C major",
+            KeyEstimatorTest.estimate(8, "Cmaj7", "Fmaj7", "G7", "Cmaj7").toString());
+    assertEquals("A I-IV-V-I of extended chords should be heard in the key of its tonic", "C major",
+            KeyEstimatorTest.estimate(8, "Cmaj9", "Fmaj9", "G13", "Cmaj9").toString());
+    assertEquals("A I-vi-IV-V should be heard in major, not in its relative minor", "C major",
+            KeyEstimatorTest.estimate(8, "C", "Am", "F", "G").toString());
+    assertEquals("A I-vi-IV-V should be heard in major, not in its relative minor", "G major",
+            KeyEstimatorTest.estimate(8, "G", "Em7", "Cmaj7", "D7").toString());
+  }
+
+  @Test
+  public void testGetEstimate_empty() {
+    KeyEstimator estimator = new KeyEstimator(4);
+    assertNull("Nothing should be estimated before the first chord", estimator.getEstimate());
+
+    estimator.add(Chord.create("D"));
+    estimator.clear();
+    assertNull("Nothing should be estimated once cleared", estimator.getEstimate());
+    assertEquals("Nothing should be left in the window once cleared", 0, estimator.size());
+  }
+
+  @Test
+  public void testAdd_slidingWindow() {
+    KeyEstimator estimator = new KeyEstimator(4);
+    for (String symbol : new String[]{"C", "F", "G7", "C"}) {
+      estimator.add(Chord.create(symbol));
+    }
+    assertEquals("The first key should be found from a full window", "C major", estimator.getEstimate().toString());
+
+    // Note: Modulate to Ab; the C major chords fall out of the window
+    for (String symbol : new String[]{"Ab", "Db", "Eb7", "Ab"}) {
+      estimator.add(Chord.create(symbol));
+    }
+    assertEquals("The new key should be found once the old one has left the window", "Ab major", estimator.getEstimate().toString());
+    assertEquals("The window should stay bounded", 4, estimator.size());
+  }
+
+  @Test
+  public void testAdd_incremental() {
+    // Note: Scores kept up incrementally must match rescoring the window
+    String[] progression = {"C", "A-7", "D-7", "G7", "E7b9", "A-", "Bbmaj7", "Eb7", "Abmaj7", "Db", "G7#5", "C/E"};
+    KeyEstimator incremental = new KeyEstimator(3);
+
+    for (int i = 0; i < progression.length; i++) {
+      incremental.add(Chord.create(progression[i]));
+
+      KeyEstimator rescored = new KeyEstimator(3);
+      for (int j = Math.max(0, i - 2); j <= i; j++) {
+        rescored.add(Chord.create(progression[j]));
+      }
+
+      assertSame("The estimate should not depend on chords outside the window", rescored.getEstimate(), incremental.getEstimate());
+      for (KeyEstimator.Estimate key : KeyEstimator.keys) {
+        assertEquals("Scores should not drift: " + key, rescored.getScore(key), incremental.getScore(key));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructor_emptyWindow() {
+    new KeyEstimator(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAdd_null() {
+    new KeyEstimator(1).add((Chord) null);
+  }
+}
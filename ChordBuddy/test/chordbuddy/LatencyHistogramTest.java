@@ -0,0 +1,54 @@
+package chordbuddy;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals("An empty histogram has no values", 0, histogram.getCount());
+    assertEquals("An empty histogram has no percentiles", 0, histogram.getPercentileNanos(99));
+  }
+
+  @Test
+  public void testBuckets() {
+    long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE};
+
+    for (long value : values) {
+      int bucket = LatencyHistogram.bucketOf(value);
+      long upper = LatencyHistogram.bucketUpperBound(bucket);
+
+      assertTrue(String.format("A value must not exceed its bucket's upper bound: %d", value), value <= upper);
+      assertTrue(String.format("A bucket must be within about 6%% of its values: %d", value), upper - value <= value / 16);
+      if (bucket > 0) {
+        assertTrue(String.format("A value must exceed the previous bucket: %d", value), value > LatencyHistogram.bucketUpperBound(bucket - 1));
+      }
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+
+    assertEquals("Every value should be counted", 1000, histogram.getCount());
+    assertEquals("The maximum should be exact", 1000000, histogram.getMaxNanos());
+    assertEquals("The mean should be exact", 500500.0, histogram.getMeanNanos(), 0.001);
+
+    long p50 = histogram.getPercentileNanos(50);
+    assertTrue("The median should be close to the true median: " + p50, p50 >= 500000 && p50 <= 500000 * 17 / 16);
+    assertEquals("The 100th percentile should be the maximum", 1000000, histogram.getPercentileNanos(100));
+
+    histogram.reset();
+    assertEquals("A reset histogram has no values", 0, histogram.getCount());
+  }
+}
@@ -0,0 +1,131 @@
+package chordbuddy;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class LeadSheetTokenizerTest {
+
+  private static List<String> symbols(List<ChordToken> tokens) {
+    List<String> symbols = new ArrayList<String>();
+    for (ChordToken token : tokens) {
+      symbols.add(token.getSymbol());
+    }
+
+    return symbols;
+  }
+
+  @Test
+  public void testTokenize() {
+    String sheet = "Verse 1:\n"
+            + "|Amin7 D7  |Gmaj7 (Cmaj7)|\n"
+            + "Cat and dog, walking in C.\n"
+            + "N.C.  F#-7b5, B7#9 || E- G/B\n";
+
+    List<ChordToken> tokens = LeadSheetTokenizer.tokenize(sheet);
+    String[] expected = {"Amin7", "D7", "Gmaj7", "Cmaj7", "C", "F#-7b5", "B7#9", "E-", "G/B"};
+
+    assertEquals("Every chord symbol and nothing else should be found", Arrays.asList(expected), LeadSheetTokenizerTest.symbols(tokens));
+    for (ChordToken token : tokens) {
+      assertNotNull("Every token should carry its chord", token.getChord());
+      assertEquals("The offset should point at the symbol: " + token, token.getSymbol(),
+              sheet.substring((int) token.getOffset(), (int) token.getOffset() + token.getSymbol().length()));
+    }
+  }
+
+  @Test
+  public void testTokenize_groups() {
+    String sheet = "|C7(b9) Bb7(#5) | G7(b9)(#11) (Dmaj7) C7(x) F(#5) Cmaj7(b9 E(";
+
+    List<ChordToken> tokens = LeadSheetTokenizer.tokenize(sheet);
+    String[] expected = {"C7(b9)", "Bb7(#5)", "G7(b9)(#11)", "Dmaj7"};
+
+    assertEquals("A group glued to a word should be read with it, and the word skipped if it is no symbol",
+            Arrays.asList(expected), LeadSheetTokenizerTest.symbols(tokens));
+    assertEquals("A group should be read without its parentheses", Chord.create("C7b9").getNotes(), tokens.get(0).getChord().getNotes());
+    assertEquals("A group should be read without its parentheses", Chord.create("Bb7#5").getNotes(), tokens.get(1).getChord().getNotes());
+    assertEquals("Every group should be read", Chord.create("G7b9#11").getNotes(), tokens.get(2).getChord().getNotes());
+    assertEquals("The offset should point at the symbol", 8, tokens.get(1).getOffset());
+  }
+
+  @Test
+  public void testTokenize_groupedSuffixes() {
+    List<ChordToken> tokens = LeadSheetTokenizer.tokenize("C(add9) | Fmaj7(add13) C(add)");
+
+    assertEquals("A suffix in a group should be read with its word", Arrays.asList("C(add9)", "Fmaj7(add13)"), LeadSheetTokenizerTest.symbols(tokens));
+    assertEquals("A group should be read without its parentheses", Chord.create("Cadd9").getNotes(), tokens.get(0).getChord().getNotes());
+    assertEquals("A group should be read without its parentheses", Chord.create("Fmaj7add13").getNotes(), tokens.get(1).getChord().getNotes());
+  }
+
+  @Test
+  public void testTokenize_positions() {
+    List<ChordToken> tokens = LeadSheetTokenizer.tokenize("G\n  lyrics  Bb7\n\nEb");
+
+    assertEquals("Every chord symbol should be found", 3, tokens.size());
+    assertEquals("Lines should be one-based", 1, tokens.get(0).getLine());
+    assertEquals("Columns should be one-based", 1, tokens.get(0).getColumn());
+    assertEquals("Newlines should start a new line", 2, tokens.get(1).getLine());
+    assertEquals("Columns should count from the start of the line", 11, tokens.get(1).getColumn());
+    assertEquals("Offsets should count from the start of the text", 12, tokens.get(1).getOffset());
+    assertEquals("Blank lines should be counted", 4, tokens.get(2).getLine());
+    assertEquals("Columns should restart on every line", 1, tokens.get(2).getColumn());
+    assertEquals("Tokens should print their position and symbol", "4:1: 'Eb'", tokens.get(2).toString());
+  }
+
+  @Test
+  public void testTokenize_lowercase() throws IOException {
+    assertTrue("Lyrics should not read as minor chords", LeadSheetTokenizer.tokenize("a bad dad").isEmpty());
+
+    LeadSheetTokenizer tokenizer = new LeadSheetTokenizer(new StringReader("a d-7"), true);
+    assertEquals("Lowercase tonics should be found when asked for", "a", tokenizer.next().getSymbol());
+    assertEquals("Lowercase tonics should be found when asked for", "d-7", tokenizer.next().getSymbol());
+    assertNull("The end of the text should return null", tokenizer.next());
+    assertNull("The end of the text should be sticky", tokenizer.next());
+  }
+
+  @Test
+  public void testTokenize_longWords() {
+    StringBuilder sb = new StringBuilder("C7");
+    for (int i = 0; i < LeadSheetTokenizer.MAX_SYMBOL_LENGTH; i++) {
+      sb.append("b9");
+    }
+    sb.append(" F ");
+
+    assertEquals("Overlong words should be skipped without being kept",
+            Arrays.asList("F"), LeadSheetTokenizerTest.symbols(LeadSheetTokenizer.tokenize(sb.toString())));
+  }
+
+  @Test
+  public void testNext_shortReads() throws IOException {
+    // Note: Hand out the text a couple of chars at a time so that symbols
+    //       straddle reads
+    Reader trickle = new FilterReader(new StringReader("D-7 | G13b9 | Cmaj7 |")) {
+
+      @Override
+      public int read(char[] buffer, int offset, int length) throws IOException {
+        return super.read(buffer, offset, Math.min(length, 2));
+      }
+    };
+
+    LeadSheetTokenizer tokenizer = new LeadSheetTokenizer(trickle);
+    List<ChordToken> tokens = new ArrayList<ChordToken>();
+    ChordToken token;
+    while ((token = tokenizer.next()) != null) {
+      tokens.add(token);
+    }
+    tokenizer.close();
+
+    assertEquals("Symbols straddling reads should be found whole", Arrays.asList("D-7", "G13b9", "Cmaj7"), LeadSheetTokenizerTest.symbols(tokens));
+    assertEquals("Offsets should carry across reads", 6, tokens.get(1).getOffset());
+  }
+}
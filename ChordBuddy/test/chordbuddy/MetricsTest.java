@@ -0,0 +1,79 @@
+package chordbuddy;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class MetricsTest {
+
+  @Before
+  public void setUp() {
+    Metrics.reset();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Metrics.setEnabled(false);
+    Metrics.reset();
+    Metrics.unregisterMBeans();
+  }
+
+  @Test
+  public void testDisabled() {
+    Metrics.setEnabled(false);
+    Chord.create("G7");
+    Note.create("Bb");
+
+    assertEquals("Nothing should be recorded while disabled", 0, Metrics.get(Metrics.Operation.ChordCreate).getCount());
+    assertEquals("Nothing should be recorded while disabled", 0, Metrics.get(Metrics.Operation.NoteCreate).getCount());
+  }
+
+  @Test
+  public void testEnabled() {
+    Metrics.setEnabled(true);
+    Chord.create("G7").getNotes();
+    Chord.create("H7");
+    Chord.getSymbolTonic("Eb-7");
+    Chord.getSymbolQuality("Eb-7");
+    Chord.getSymbolModifiers("Eb-7");
+    Note.create("X");
+    MusicTheory.getMajorScale(Note.create("D"));
+
+    assertEquals("Every create should be counted", 2, Metrics.get(Metrics.Operation.ChordCreate).getCount());
+    assertEquals("Invalid symbols should be counted as errors", 1, Metrics.get(Metrics.Operation.ChordCreate).getErrorCount());
+    assertEquals("Spelling a chord should be counted", 1, Metrics.get(Metrics.Operation.ChordNotes).getCount());
+    assertEquals("Symbol tonic lookups should be counted", 1, Metrics.get(Metrics.Operation.ChordSymbolTonic).getCount());
+    assertEquals("Symbol quality lookups should be counted", 1, Metrics.get(Metrics.Operation.ChordSymbolQuality).getCount());
+    assertEquals("Symbol modifier lookups should be counted", 1, Metrics.get(Metrics.Operation.ChordSymbolModifiers).getCount());
+    assertEquals("Every note create should be counted", 2, Metrics.get(Metrics.Operation.NoteCreate).getCount());
+    assertEquals("Invalid note symbols should be counted as errors", 1, Metrics.get(Metrics.Operation.NoteCreate).getErrorCount());
+    assertEquals("Major scales should be counted", 1, Metrics.get(Metrics.Operation.MajorScale).getCount());
+
+    String dump = Metrics.dump();
+    assertTrue("The dump should list every operation", dump.startsWith("ChordCreate errors=1 count=2 "));
+    assertEquals("The dump should have one line per operation", Metrics.Operation.values().length, dump.split("\n").length);
+  }
+
+  @Test
+  public void testRegisterMBeans() throws Exception {
+    Metrics.setEnabled(true);
+    Metrics.registerMBeans();
+    Metrics.registerMBeans();
+    Chord.create("C");
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = Metrics.getObjectName(Metrics.Operation.ChordCreate);
+
+    assertEquals("The MBean should expose the live count", 1L, server.getAttribute(name, "Count"));
+    server.invoke(name, "reset", null, null);
+    assertEquals("The MBean should be resettable", 0L, server.getAttribute(name, "Count"));
+  }
+}
@@ -92,12 +92,166 @@ public class MusicTheoryTest {
     assertEquals("A major scale can be created using an altered tonic sharp key", expected, actual);
   }
 
+  @Test
+  public void testSpellMajorScale_null() {
+    List<SpelledNote> scale = MusicTheory.spellMajorScale(null);
+    assertTrue("A null tonic will yield a null major scale", scale == null);
+  }
+
+  @Test
+  public void testSpellMajorScale_shared() {
+    SpelledNote tonic = SpelledNote.valueOf(MusicTheory.NoteName.E, -1);
+
+    assertSame("A tabled major scale should be shared between calls", MusicTheory.spellMajorScale(tonic), MusicTheory.spellMajorScale(tonic));
+
+    try {
+      MusicTheory.spellMajorScale(tonic).set(0, tonic);
+      fail("A tabled major scale must not be modifiable");
+    } catch (UnsupportedOperationException e) {
+    }
+  }
+
+  @Test
+  public void testSpellMajorScale_alteredTonics() {
+    for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+      List<SpelledNote> natural = MusicTheory.spellMajorScale(SpelledNote.valueOf(letter, 0));
+
+      for (int quality = MusicTheory.MIN_TABLE_QUALITY - 3; quality <= MusicTheory.MAX_TABLE_QUALITY + 3; quality++) {
+        List<SpelledNote> expected = new ArrayList<SpelledNote>();
+        for (SpelledNote n : natural) {
+          expected.add(n.alter(quality));
+        }
+
+        List<SpelledNote> actual = MusicTheory.spellMajorScale(SpelledNote.valueOf(letter, quality));
+        assertEquals(String.format("An altered tonic should alter every scale degree: %s, %d", letter, quality), expected, actual);
+      }
+    }
+  }
+
+  @Test
+  public void testSpellMajorScale_extreme() {
+    List<SpelledNote> expected = new ArrayList<SpelledNote>();
+    expected.add(SpelledNote.valueOf(MusicTheory.NoteName.F, -6));
+    expected.add(SpelledNote.valueOf(MusicTheory.NoteName.G, -6));
+    expected.add(SpelledNote.valueOf(MusicTheory.NoteName.A, -6));
+    expected.add(SpelledNote.valueOf(MusicTheory.NoteName.B, -7));
+    expected.add(SpelledNote.valueOf(MusicTheory.NoteName.C, -6));
+    expected.add(SpelledNote.valueOf(MusicTheory.NoteName.D, -6));
+    expected.add(SpelledNote.valueOf(MusicTheory.NoteName.E, -6));
+
+    List<SpelledNote> actual = MusicTheory.spellMajorScale(SpelledNote.valueOf(MusicTheory.NoteName.F, -6));
+    assertEquals("A major scale can be spelled beyond the precomputed range", expected, actual);
+  }
+
   @Test
   public void testGetScaleSkeleton_null() {
     List<MusicTheory.NoteName> skeleton = MusicTheory.getScaleSkeleton(null);
     assertTrue("A null tonic will yield a null scale skeleton", skeleton == null);
   }
 
+  private static String names(List<SpelledNote> scale) {
+    StringBuilder sb = new StringBuilder();
+    for (SpelledNote n : scale) {
+      sb.append(sb.length() > 0 ? " " : "").append(n.getFullName());
+    }
+
+    return sb.toString();
+  }
+
+  private static String spellScale(MusicTheory.ScaleFamily family, String tonic) {
+    return MusicTheoryTest.names(MusicTheory.spellScale(family, Note.create(tonic).toSpelledNote()));
+  }
+
+  @Test
+  public void testSpellScale_null() {
+    assertNull("A null tonic will yield a null scale", MusicTheory.spellScale(MusicTheory.ScaleFamily.Dorian, null));
+    assertNull("A null family will yield a null scale", MusicTheory.spellScale(null, SpelledNote.valueOf(MusicTheory.NoteName.C, 0)));
+  }
+
+  @Test
+  public void testSpellScale_families() {
+    assertEquals("Scales should be spelled from their family: A HarmonicMinor", "A B C D E F G#", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.HarmonicMinor, "A"));
+    assertEquals("Scales should be spelled from their family: C MelodicMinor", "C D Eb F G A B", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.MelodicMinor, "C"));
+    assertEquals("Scales should be spelled from their family: F# NaturalMinor", "F# G# A B C# D E", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.NaturalMinor, "F#"));
+    assertEquals("Scales should be spelled from their family: D Dorian", "D E F G A B C", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.Dorian, "D"));
+    assertEquals("Scales should be spelled from their family: E Phrygian", "E F G A B C D", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.Phrygian, "E"));
+    assertEquals("Scales should be spelled from their family: F Lydian", "F G A B C D E", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.Lydian, "F"));
+    assertEquals("Scales should be spelled from their family: G Mixolydian", "G A B C D E F", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.Mixolydian, "G"));
+    assertEquals("Scales should be spelled from their family: B Locrian", "B C D E F G A", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.Locrian, "B"));
+    assertEquals("Scales should be spelled from their family: Eb MajorPentatonic", "Eb F G Bb C", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.MajorPentatonic, "Eb"));
+    assertEquals("Scales should be spelled from their family: E MinorPentatonic", "E G A B D", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.MinorPentatonic, "E"));
+    assertEquals("Scales should be spelled from their family: A Blues", "A C D Eb E G", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.Blues, "A"));
+    assertEquals("Scales should be spelled from their family: C MajorBlues", "C D Eb E G A", MusicTheoryTest.spellScale(MusicTheory.ScaleFamily.MajorBlues, "C"));
+  }
+
+  @Test
+  public void testSpellScale_modesOfMajor() {
+    // Note: Each church mode is the major scale of some tonic, started from
+    //       another of its degrees
+    MusicTheory.ScaleFamily[] modes = {
+      MusicTheory.ScaleFamily.Ionian,
+      MusicTheory.ScaleFamily.Dorian,
+      MusicTheory.ScaleFamily.Phrygian,
+      MusicTheory.ScaleFamily.Lydian,
+      MusicTheory.ScaleFamily.Mixolydian,
+      MusicTheory.ScaleFamily.Aeolian,
+      MusicTheory.ScaleFamily.Locrian,
+    };
+
+    for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+      for (int quality = -2; quality <= 2; quality++) {
+        List<SpelledNote> major = MusicTheory.spellMajorScale(SpelledNote.valueOf(letter, quality));
+
+        for (int m = 0; m < modes.length; m++) {
+          List<SpelledNote> expected = new ArrayList<SpelledNote>();
+          for (int i = 0; i < major.size(); i++) {
+            expected.add(major.get((m + i) % major.size()));
+          }
+
+          assertEquals(String.format("%s should be a rotation of the major scale: %s", modes[m], expected.get(0)),
+                  expected, MusicTheory.spellScale(modes[m], expected.get(0)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSpellScale_shared() {
+    SpelledNote tonic = SpelledNote.valueOf(MusicTheory.NoteName.G, 1);
+
+    for (MusicTheory.ScaleFamily family : MusicTheory.ScaleFamily.values()) {
+      List<SpelledNote> scale = MusicTheory.spellScale(family, tonic);
+      assertSame("A tabled scale should be shared between calls: " + family, scale, MusicTheory.spellScale(family, tonic));
+      assertSame("The packed codes should be tabled as well: " + family,
+              MusicTheory.getScaleCodes(family, tonic.getCode()), MusicTheory.getScaleCodes(family, tonic.getCode()));
+
+      try {
+        scale.set(0, tonic);
+        fail("A tabled scale must not be modifiable: " + family);
+      } catch (UnsupportedOperationException e) {
+      }
+    }
+  }
+
+  @Test
+  public void testSpellScale_alteredTonics() {
+    for (MusicTheory.ScaleFamily family : MusicTheory.ScaleFamily.values()) {
+      for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+        List<SpelledNote> natural = MusicTheory.spellScale(family, SpelledNote.valueOf(letter, 0));
+
+        for (int quality = MusicTheory.MIN_TABLE_QUALITY - 3; quality <= MusicTheory.MAX_TABLE_QUALITY + 3; quality++) {
+          List<SpelledNote> expected = new ArrayList<SpelledNote>();
+          for (SpelledNote n : natural) {
+            expected.add(n.alter(quality));
+          }
+
+          List<SpelledNote> actual = MusicTheory.spellScale(family, SpelledNote.valueOf(letter, quality));
+          assertEquals(String.format("An altered tonic should alter every scale degree: %s, %s, %d", family, letter, quality), expected, actual);
+        }
+      }
+    }
+  }
+
   @Test
   public void testGetScaleSkeleton() {
     List<MusicTheory.NoteName> expected = new ArrayList<MusicTheory.NoteName>();
@@ -112,4 +266,26 @@ public class MusicTheoryTest {
     List<MusicTheory.NoteName> actual = MusicTheory.getScaleSkeleton(Note.create("C##"));
     assertEquals("A skeleton scale can be created using a base tonic", expected, actual);
   }
+
+  @Test
+  public void testNotationChordQualities_plain() {
+    assertEquals("Plain notations should be listed", MusicTheory.ChordQuality.Maj, MusicTheory.notationChordQualities.get("maj"));
+    assertFalse("Notations implying modifiers should not be listed", MusicTheory.notationChordQualities.containsKey("maj9"));
+    assertFalse("Notations implying modifiers should not be listed", MusicTheory.notationChordQualities.containsKey("M13"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testNotationChordQualities_unmodifiable() {
+    MusicTheory.notationChordQualities.put("m", MusicTheory.ChordQuality.Min);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testOrderOfFlats_unmodifiable() {
+    MusicTheory.orderOfFlats.set(0, MusicTheory.NoteName.C);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testFoundationKeys_unmodifiable() {
+    MusicTheory.foundationKeys.remove(MusicTheory.NoteName.C);
+  }
 }
@@ -234,7 +234,7 @@ public class NoteTest {
     Integer qualityAfter = n.getQuality();
 
     assertEquals("Flatting a note n times should yield the same letter", letterOriginal, letterAfter);
-    assertEquals("Flatting a note n times should yield a quality of n less", (int) (qualityOriginal - offset), (int) qualityAfter);
+    assertEquals("Flatting a note n times should yield a quality of n less", qualityOriginal - offset, (int) qualityAfter);
   }
 
   @Test
@@ -251,7 +251,7 @@ public class NoteTest {
     Integer qualityAfter = n.getQuality();
 
     assertEquals("Flatting a note n times should yield the same letter", letterOriginal, letterAfter);
-    assertEquals("Flatting a note -n times should yield a quality of n less", (int) (qualityOriginal + offset), (int) qualityAfter);
+    assertEquals("Flatting a note -n times should yield a quality of n less", qualityOriginal + offset, (int) qualityAfter);
   }
 
   @Test
@@ -284,7 +284,7 @@ public class NoteTest {
     Integer qualityAfter = n.getQuality();
 
     assertEquals("Sharping a note n times should yield the same letter", letterOriginal, letterAfter);
-    assertEquals("Sharping a note n times should yield a quality of n more", (int) (qualityOriginal + offset), (int) qualityAfter);
+    assertEquals("Sharping a note n times should yield a quality of n more", qualityOriginal + offset, (int) qualityAfter);
   }
 
   @Test
@@ -301,7 +301,7 @@ public class NoteTest {
     Integer qualityAfter = n.getQuality();
 
     assertEquals("Sharping a note n times should yield the same letter", letterOriginal, letterAfter);
-    assertEquals("Sharping a note -n times should yield a quality of n more", (int) (qualityOriginal - offset), (int) qualityAfter);
+    assertEquals("Sharping a note -n times should yield a quality of n more", qualityOriginal - offset, (int) qualityAfter);
   }
 
   @Test
@@ -317,8 +317,81 @@ public class NoteTest {
     assertTrue("Unequal note objects should claim inequality", !a.equals(b));
   }
 
+  @Test
+  public void testHashCode() {
+    Note a = Note.create("Cbb");
+    Note b = Note.create("C b b");
+
+    assertEquals("Equal note objects should have equal hash codes", a.hashCode(), b.hashCode());
+  }
+
+  @Test
+  public void testEquals_extreme() {
+    Note a = Note.create("a##########");
+    Note b = Note.create("A##########");
+
+    assertTrue("Notes with many accidentals should compare by value", a.equals(b));
+  }
+
   @Test
   public void testToString() {
     testGetFullName();
   }
+
+  @Test
+  public void testTranspose() {
+    String[][] cases = {
+      {"C", "m3", "Eb"},
+      {"F#", "M3", "A#"},
+      {"Bb", "P4", "Eb"},
+      {"B", "A4", "E#"},
+      {"Db", "-M2", "Cb"},
+      {"E", "-P5", "A"},
+      {"G", "M9", "A"},
+      {"Ab", "d5", "Ebb"},
+    };
+
+    for (String[] c : cases) {
+      Note note = Note.create(c[0]);
+      note.transpose(Interval.create(c[1]));
+
+      assertEquals(String.format("Transposing %s by %s", c[0], c[1]), Note.create(c[2]), note);
+    }
+  }
+
+  @Test
+  public void testCreate_charSequence() {
+    StringBuilder text = new StringBuilder("F # #, Bb");
+
+    assertEquals("A slice of text should parse like the same String", Note.create("F##"), Note.create(text, 0, 5));
+    assertEquals("A slice of text should parse like the same String", Note.create("Bb"), Note.create(text, 7, 9));
+    assertNull("The slice should end where it is told to", Note.create(text, 0, 6));
+    assertNull("An empty slice is not a note", Note.create(text, 4, 4));
+    assertEquals("A char range should parse like the same String", Note.create("c"), Note.create("xcx".toCharArray(), 1, 1));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testCreate_outOfBounds() {
+    Note.create(new StringBuilder("C"), 0, 2);
+  }
+
+  @Test
+  public void testCreate_charSequenceMatchesString() {
+    char[] alphabet = {'A', 'c', 'H', 'b', '#', ' ', '5'};
+    char[] buffer = new char[4];
+
+    // Note: Every string of up to four characters from the alphabet
+    for (int n = 0; n < 7 * 7 * 7 * 7; n++) {
+      int length = 1 + n % 4;
+      int x = n;
+      for (int i = 0; i < length; i++) {
+        buffer[i] = alphabet[x % alphabet.length];
+        x /= alphabet.length;
+      }
+
+      String symbol = new String(buffer, 0, length);
+      assertEquals("Zero-copy parsing should agree with the String parser: '" + symbol + "'",
+              Note.create(symbol), Note.create(buffer, 0, length));
+    }
+  }
 }
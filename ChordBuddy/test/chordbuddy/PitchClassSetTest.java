@@ -0,0 +1,52 @@
+package chordbuddy;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class PitchClassSetTest {
+
+  @Test
+  public void testFromChord() {
+    PitchClassSet g7 = Chord.create("G7").getPitchClassSet();
+
+    assertEquals("G7 is G, B, D and F", "[2, 5, 7, 11]", g7.toString());
+    assertEquals("A seventh chord has four pitch classes", 4, g7.size());
+    assertSame("Sets should be interned", g7, PitchClassSet.fromBits(g7.getBits()));
+  }
+
+  @Test
+  public void testEnharmonic() {
+    assertSame("Enharmonic chords share a pitch class set",
+            Chord.create("F#").getPitchClassSet(),
+            Chord.create("Gb").getPitchClassSet());
+  }
+
+  @Test
+  public void testSetOperations() {
+    PitchClassSet c = Chord.create("C").getPitchClassSet();
+    PitchClassSet am = Chord.create("A-").getPitchClassSet();
+
+    assertEquals("C and A- share C and E", "[0, 4]", c.intersection(am).toString());
+    assertEquals("C and A- together are C, E, G and A", "[0, 4, 7, 9]", c.union(am).toString());
+    assertEquals("Only G is in C but not in A-", "[7]", c.difference(am).toString());
+    assertTrue("A triad is a subset of its seventh chord", c.isSubsetOf(Chord.create("Cmaj7").getPitchClassSet()));
+    assertFalse("C is not a subset of A-", c.isSubsetOf(am));
+    assertTrue("B# is enharmonic to C, so it is a member", c.contains(SpelledNote.valueOf(MusicTheory.NoteName.B, 1)));
+    assertFalse("Pitch classes past B are never members", c.contains(12));
+    assertSame("A set and its complement make up every pitch class", PitchClassSet.CHROMATIC, c.union(c.complement()));
+  }
+
+  @Test
+  public void testTranspose() {
+    PitchClassSet c = Chord.create("C").getPitchClassSet();
+
+    assertSame("C up a fourth is F", Chord.create("F").getPitchClassSet(), c.transpose(5));
+    assertSame("C down a semitone is B", Chord.create("B").getPitchClassSet(), c.transpose(-1));
+    assertSame("Transposing by octaves changes nothing", c, c.transpose(24));
+    assertSame("Transposing by a unison changes nothing", c, c.transpose(0));
+  }
+}
@@ -0,0 +1,105 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class ProgressionTransposerTest {
+
+  private static Chord[] parse(String... symbols) {
+    Chord[] chords = new Chord[symbols.length];
+    for (int i = 0; i < symbols.length; i++) {
+      chords[i] = Chord.create(symbols[i]);
+    }
+
+    return chords;
+  }
+
+  private static List<List<Note>> notes(Chord[] chords) {
+    List<List<Note>> notes = new ArrayList<List<Note>>();
+    for (Chord chord : chords) {
+      notes.add(chord == null ? null : chord.getNotes());
+    }
+
+    return notes;
+  }
+
+  @Test
+  public void testTransposeAll() {
+    ProgressionTransposer transposer = ProgressionTransposer.between(
+            SpelledNote.valueOf(MusicTheory.NoteName.C, 0),
+            SpelledNote.valueOf(MusicTheory.NoteName.E, -1));
+
+    Chord[] actual = transposer.transposeAll(parse("C", "A-7", "D-7", "G7b9", "F#dim"));
+
+    assertEquals("A progression should move to the new key",
+            notes(parse("Eb", "C-7", "F-7", "Bb7b9", "Adim")), notes(actual));
+  }
+
+  @Test
+  public void testTransposeAll_list() {
+    ProgressionTransposer transposer = new ProgressionTransposer(Interval.create("-M2"));
+    List<Chord> actual = transposer.transposeAll(Arrays.asList(parse("E-", "B7", "C#-7b5")));
+
+    assertEquals("A list should move like an array", notes(parse("D-", "A7", "B-7b5")), notes(actual.toArray(new Chord[0])));
+  }
+
+  @Test
+  public void testTranspose_inPlace() {
+    ProgressionTransposer transposer = new ProgressionTransposer(Interval.create("P4"));
+    Chord[] chords = parse("H7", "G", "D", "A");
+
+    transposer.transpose(chords, 1, chords, 1, 2);
+
+    assertNull("Null chords stay null", chords[0]);
+    assertEquals("Only the given range should move", notes(parse("H7", "C", "G", "A")), notes(chords));
+  }
+
+  @Test
+  public void testTranspose_matchesInterval() {
+    Interval interval = Interval.create("A4");
+    ProgressionTransposer transposer = new ProgressionTransposer(interval);
+
+    for (int quality = -6; quality <= 6; quality++) {
+      for (int letter = 0; letter < 7; letter++) {
+        int code = SpelledNote.pack(letter, quality);
+        assertEquals("The table should agree with the interval", interval.transpose(code), transposer.transpose(code));
+      }
+    }
+  }
+
+  @Test
+  public void testTransposeCodes() {
+    int[] codes = new int[Chord.MAX_NOTES];
+    int count = Chord.create("Gb7").spellInto(codes);
+
+    new ProgressionTransposer(Interval.create("m2")).transposeCodes(codes, count);
+
+    int[] expected = new int[Chord.MAX_NOTES];
+    int expectedCount = Chord.create("Abb7").spellInto(expected);
+    assertEquals("Transposing codes should keep their number", expectedCount, count);
+    for (int i = 0; i < count; i++) {
+      assertEquals("Transposed codes should spell like parsing", expected[i], codes[i]);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructor_null() {
+    new ProgressionTransposer(null);
+  }
+
+  @Test
+  public void testTranspose_slashChords() {
+    ProgressionTransposer transposer = new ProgressionTransposer(Interval.create("P4"));
+    Chord[] actual = transposer.transposeAll(parse("C/E", "A-7/G", "D7/F#"));
+
+    assertEquals("The bass should move with the chord", notes(parse("F/A", "D-7/C", "G7/B")), notes(actual));
+    assertEquals("A transposed slash chord should keep its slash", "G7/B", actual[2].getSymbol());
+  }
+}
@@ -0,0 +1,74 @@
+package chordbuddy;
+
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class SpelledNoteSetTest {
+
+  private static SpelledNote note(String symbol) {
+    return Note.create(symbol).toSpelledNote();
+  }
+
+  @Test
+  public void testFromChord() {
+    SpelledNoteSet set = Chord.create("Eb7").getSpelledNoteSet();
+
+    assertEquals("Members are ordered by accidental, then letter",
+            Arrays.asList(note("Bb"), note("Db"), note("Eb"), note("G")), set.getNotes());
+    assertEquals("A seventh chord has four spelled notes", 4, set.size());
+  }
+
+  @Test
+  public void testFromChord_extreme() {
+    assertNull("Tones past four accidentals cannot be represented", Chord.create("Fbbbb-").getSpelledNoteSet());
+  }
+
+  @Test
+  public void testEnharmonic() {
+    SpelledNoteSet sharp = Chord.create("F#").getSpelledNoteSet();
+    SpelledNoteSet flat = Chord.create("Gb").getSpelledNoteSet();
+
+    assertTrue("Enharmonic chords are disjoint spelled sets", sharp.intersection(flat).isEmpty());
+    assertEquals("... but share their pitch classes", sharp.toPitchClassSet(), flat.toPitchClassSet());
+  }
+
+  @Test
+  public void testSetOperations() {
+    SpelledNoteSet c = Chord.create("C").getSpelledNoteSet();
+    SpelledNoteSet am = Chord.create("A-").getSpelledNoteSet();
+
+    assertEquals("C and A- share C and E", SpelledNoteSet.of(note("C"), note("E")), c.intersection(am));
+    assertEquals("C and A- together are A, C, E and G", SpelledNoteSet.of(note("A"), note("C"), note("E"), note("G")), c.union(am));
+    assertEquals("Only G is in C but not in A-", SpelledNoteSet.of(note("G")), c.difference(am));
+    assertTrue("A triad is a subset of its seventh chord", c.isSubsetOf(Chord.create("C7").getSpelledNoteSet()));
+    assertTrue("C contains its third", c.contains(note("E")));
+    assertFalse("Enharmonic spellings are not members", c.contains(note("Fb")));
+    assertFalse("Notes past four accidentals are never members", c.contains(SpelledNote.valueOf(MusicTheory.NoteName.C, 9)));
+  }
+
+  @Test
+  public void testAlter() {
+    SpelledNoteSet c = Chord.create("C").getSpelledNoteSet();
+
+    assertEquals("Sharpening C keeps its letters", Chord.create("C#").getSpelledNoteSet(), c.alter(1));
+    assertEquals("Flattening C keeps its letters", Chord.create("Cb").getSpelledNoteSet(), c.alter(-1));
+    assertEquals("Notes pushed out of range are dropped", SpelledNoteSet.of(note("Cbbbb")), SpelledNoteSet.of(note("C#"), note("E")).alter(-5));
+    assertTrue("Flattening every note out of range leaves nothing", c.alter(-9).isEmpty());
+    assertTrue("Sharpening every note out of range leaves nothing", c.alter(20).isEmpty());
+  }
+
+  @Test
+  public void testToPitchClassSet() {
+    String[] symbols = {"C", "Bbb7", "D#+9", "Gbdim7", "E-7b5", "A#sus2"};
+    for (String symbol : symbols) {
+      Chord chord = Chord.create(symbol);
+      assertSame("Spelled and pitch class sets should agree: " + symbol,
+              chord.getPitchClassSet(), chord.getSpelledNoteSet().toPitchClassSet());
+    }
+  }
+}
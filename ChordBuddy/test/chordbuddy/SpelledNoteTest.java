@@ -0,0 +1,99 @@
+package chordbuddy;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class SpelledNoteTest {
+
+  @Test
+  public void testValueOf_null() {
+    assertEquals("A null letter should return a null note", null, SpelledNote.valueOf(null, 0));
+  }
+
+  @Test
+  public void testValueOf_interned() {
+    for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+      for (int quality = SpelledNote.MIN_INTERNED_QUALITY; quality <= SpelledNote.MAX_INTERNED_QUALITY; quality++) {
+        SpelledNote a = SpelledNote.valueOf(letter, quality);
+        SpelledNote b = SpelledNote.valueOf(letter, quality);
+
+        String msg = String.format("Notes within the interned range should be shared: %s, %d", letter, quality);
+        assertSame(msg, a, b);
+        assertEquals(msg, letter, a.getLetter());
+        assertEquals(msg, quality, a.getQuality());
+      }
+    }
+  }
+
+  @Test
+  public void testValueOf_extreme() {
+    SpelledNote a = SpelledNote.valueOf(MusicTheory.NoteName.G, -10);
+    SpelledNote b = SpelledNote.valueOf(MusicTheory.NoteName.G, -10);
+
+    assertEquals("Notes outside the interned range should still be equal", a, b);
+    assertEquals("Notes outside the interned range should keep their letter", MusicTheory.NoteName.G, a.getLetter());
+    assertEquals("Notes outside the interned range should keep their quality", -10, a.getQuality());
+  }
+
+  @Test
+  public void testCode() {
+    for (MusicTheory.NoteName letter : MusicTheory.NoteName.values()) {
+      for (int quality = -12; quality <= 12; quality++) {
+        int code = SpelledNote.pack(letter.ordinal(), quality);
+
+        String msg = String.format("A packed code should round trip: %s, %d", letter, quality);
+        assertEquals(msg, letter, SpelledNote.letterOf(code));
+        assertEquals(msg, quality, SpelledNote.qualityOf(code));
+        assertEquals(msg, code, SpelledNote.fromCode(code).getCode());
+        assertEquals(msg, quality + 2, SpelledNote.qualityOf(SpelledNote.alter(code, 2)));
+      }
+    }
+  }
+
+  @Test
+  public void testAlter() {
+    SpelledNote c = SpelledNote.valueOf(MusicTheory.NoteName.C, 0);
+
+    assertSame("Altering by 0 should return the same note", c, c.alter(0));
+    assertEquals("Altering should keep the letter", MusicTheory.NoteName.C, c.alter(-2).getLetter());
+    assertEquals("Altering should shift the quality", -2, c.alter(-2).getQuality());
+    assertEquals("A note with a new quality should keep the letter", SpelledNote.valueOf(MusicTheory.NoteName.C, 3), c.withQuality(3));
+  }
+
+  @Test
+  public void testGetFullName() {
+    assertEquals("A natural note has no accidentals", "C", SpelledNote.valueOf(MusicTheory.NoteName.C, 0).getFullName());
+    assertEquals("A flat note is spelled with flats", "Dbb", SpelledNote.valueOf(MusicTheory.NoteName.D, -2).getFullName());
+    assertEquals("A sharp note is spelled with sharps", "F###", SpelledNote.valueOf(MusicTheory.NoteName.F, 3).getFullName());
+  }
+
+  @Test
+  public void testGetPitchClass() {
+    assertEquals("C is pitch class 0", 0, SpelledNote.valueOf(MusicTheory.NoteName.C, 0).getPitchClass());
+    assertEquals("B# wraps around to C", 0, SpelledNote.valueOf(MusicTheory.NoteName.B, 1).getPitchClass());
+    assertEquals("Cb wraps around to B", 11, SpelledNote.valueOf(MusicTheory.NoteName.C, -1).getPitchClass());
+    assertEquals("Enharmonic notes share a pitch class",
+            SpelledNote.valueOf(MusicTheory.NoteName.F, 1).getPitchClass(),
+            SpelledNote.valueOf(MusicTheory.NoteName.G, -1).getPitchClass());
+    assertEquals("Extreme qualities still wrap", 8, SpelledNote.valueOf(MusicTheory.NoteName.G, -11).getPitchClass());
+  }
+
+  @Test
+  public void testGetFullName_cached() {
+    SpelledNote note = SpelledNote.valueOf(MusicTheory.NoteName.E, -2);
+
+    assertSame("Interned notes should reuse their names", note.getFullName(), note.getFullName());
+    assertEquals("Notes outside the interned range should still be named", "Gbbbbbb", SpelledNote.valueOf(MusicTheory.NoteName.G, -6).getFullName());
+  }
+
+  @Test
+  public void testGetAccidentals() {
+    assertEquals("A natural has no accidentals", "", SpelledNote.getAccidentals(0));
+    assertEquals("Sharps should be repeated", "###", SpelledNote.getAccidentals(3));
+    assertEquals("Flats should be repeated", "bbbbb", SpelledNote.getAccidentals(-5));
+  }
+}
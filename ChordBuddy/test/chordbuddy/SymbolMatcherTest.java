@@ -0,0 +1,62 @@
+package chordbuddy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ryan
+ */
+public class SymbolMatcherTest {
+
+  private static final List<String> symbols;
+
+  static {
+    symbols = new ArrayList<String>();
+    symbols.add("A");
+    symbols.add("Bb");
+    symbols.add("c # #");
+    symbols.add("Dbbbdim7");
+    symbols.add("E b b Major7 #11");
+    symbols.add("F + 7 #11 b13");
+    symbols.add("gmin");
+    symbols.add("A#7");
+    symbols.add("Cb5");
+    symbols.add("badchord");
+    symbols.add("H");
+    symbols.add("");
+    symbols.add(null);
+  }
+
+  @Test
+  public void testReuse_notes() {
+    SymbolMatcher matcher = new SymbolMatcher();
+
+    for (int pass = 0; pass < 2; pass++) {
+      for (String symbol : symbols) {
+        String msg = String.format("A reused matcher should parse notes like a fresh one: '%s'", symbol);
+        assertEquals(msg, Note.isValidSymbol(symbol), matcher.isValidNoteSymbol(symbol));
+        assertEquals(msg, Note.getSymbolLetter(symbol), matcher.getNoteSymbolLetter(symbol));
+        assertEquals(msg, Note.getSymbolQuality(symbol), matcher.getNoteSymbolQuality(symbol));
+        assertEquals(msg, Note.create(symbol), matcher.createNote(symbol));
+      }
+    }
+  }
+
+  @Test
+  public void testReuse_chords() {
+    SymbolMatcher matcher = new SymbolMatcher();
+
+    for (int pass = 0; pass < 2; pass++) {
+      for (String symbol : symbols) {
+        String msg = String.format("A reused matcher should parse chords like a fresh one: '%s'", symbol);
+        assertEquals(msg, Chord.isValidSymbol(symbol), matcher.isValidChordSymbol(symbol));
+        assertEquals(msg, Chord.getSymbolTonic(symbol), matcher.getChordSymbolTonic(symbol));
+        assertEquals(msg, Chord.getSymbolQuality(symbol), matcher.getChordSymbolQuality(symbol));
+        assertEquals(msg, Chord.getSymbolModifiers(symbol), matcher.getChordSymbolModifiers(symbol));
+      }
+    }
+  }
+}
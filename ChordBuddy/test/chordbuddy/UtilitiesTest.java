@@ -45,4 +45,19 @@ public class UtilitiesTest {
       assertEquals(String.format("A string should be returned with all whitespace characters removed: '%s'", original), expected, actual);
     }
   }
+
+  @Test
+  public void testIsWhitespace() {
+    String original = " a\tb\nc\u000Bd\fe\rf\u00A0";
+    String expected = Utilities.removeWhitespace(original);
+
+    StringBuilder actual = new StringBuilder();
+    for (int i = 0; i < original.length(); i++) {
+      if (!Utilities.isWhitespace(original.charAt(i))) {
+        actual.append(original.charAt(i));
+      }
+    }
+
+    assertEquals("Whitespace detection should agree with whitespace removal", expected, actual.toString());
+  }
 }